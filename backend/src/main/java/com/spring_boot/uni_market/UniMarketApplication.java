@@ -2,8 +2,10 @@ package com.spring_boot.uni_market;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class UniMarketApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,281 @@
+package com.spring_boot.uni_market.config;
+
+import com.spring_boot.uni_market.dto.BulkheadStatsDTO;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps in-flight requests and pooled connections per subsystem (chat, catalog, home, profile, uploads). API routes
+ * outside those share the "other" bulkhead, and connections taken off a request thread (schedulers, the outbox
+ * dispatcher, warm starts) come from the "background" one. Connections are counted where they are handed out
+ * (ConnectionBulkheadPostProcessor), so work a request forks keeps counting against it as long as it runs
+ * through inCurrentBulkhead. With the connection caps summing to the Hikari pool size, a stalled subsystem can
+ * exhaust its own share of connections and threads but never another's. Past its cap a request waits briefly
+ * for a permit, then fails fast with 503 and Retry-After instead of queueing on the pool.
+ */
+@Slf4j
+@Component
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+    // The bulkhead whose connection share the current thread draws on; none means background work
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${app.bulkhead.chat.max-concurrent:6}")
+    private int chatMaxConcurrent;
+    @Value("${app.bulkhead.chat.max-wait-ms:100}")
+    private long chatMaxWaitMs;
+    @Value("${app.bulkhead.catalog.max-concurrent:6}")
+    private int catalogMaxConcurrent;
+    @Value("${app.bulkhead.catalog.max-wait-ms:100}")
+    private long catalogMaxWaitMs;
+    @Value("${app.bulkhead.home.max-concurrent:2}")
+    private int homeMaxConcurrent;
+    // HomeService forks up to four branches, each on its own connection
+    @Value("${app.bulkhead.home.connections-per-request:4}")
+    private int homeConnectionsPerRequest;
+    @Value("${app.bulkhead.home.max-wait-ms:100}")
+    private long homeMaxWaitMs;
+    @Value("${app.bulkhead.profile.max-concurrent:3}")
+    private int profileMaxConcurrent;
+    @Value("${app.bulkhead.profile.max-wait-ms:100}")
+    private long profileMaxWaitMs;
+    @Value("${app.bulkhead.uploads.max-concurrent:3}")
+    private int uploadsMaxConcurrent;
+    @Value("${app.bulkhead.uploads.max-wait-ms:250}")
+    private long uploadsMaxWaitMs;
+    @Value("${app.bulkhead.other.max-concurrent:2}")
+    private int otherMaxConcurrent;
+    @Value("${app.bulkhead.other.max-wait-ms:100}")
+    private long otherMaxWaitMs;
+    @Value("${app.bulkhead.background.max-connections:4}")
+    private int backgroundMaxConnections;
+    @Value("${app.bulkhead.background.max-wait-ms:30000}")
+    private long backgroundMaxWaitMs;
+    @Value("${app.bulkhead.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long connectionTimeoutMs;
+
+    // Path prefix -> bulkhead; several prefixes may share one
+    private final Map<String, Bulkhead> byPrefix = new LinkedHashMap<>();
+    private final List<Bulkhead> bulkheads = new ArrayList<>();
+    private Bulkhead other;
+    private Bulkhead background;
+
+    @PostConstruct
+    public void createBulkheads() {
+        Bulkhead chat = register("chat", chatMaxConcurrent, chatMaxConcurrent, chatMaxWaitMs, "/api/v1/chat/");
+        Bulkhead catalog = register("catalog", catalogMaxConcurrent, catalogMaxConcurrent, catalogMaxWaitMs,
+                "/api/v1/product/", "/api/v1/category/", "/api/v1/place/", "/api/v1/search/", "/api/v1/sync");
+        Bulkhead home = register("home", homeMaxConcurrent, homeMaxConcurrent * homeConnectionsPerRequest,
+                homeMaxWaitMs, "/api/v1/home");
+        Bulkhead profile = register("profile", profileMaxConcurrent, profileMaxConcurrent, profileMaxWaitMs,
+                "/api/v1/user/");
+        Bulkhead uploads = register("uploads", uploadsMaxConcurrent, uploadsMaxConcurrent, uploadsMaxWaitMs,
+                "/api/v1/image/");
+        other = register("other", otherMaxConcurrent, otherMaxConcurrent, otherMaxWaitMs);
+        background = register("background", 0, backgroundMaxConnections, backgroundMaxWaitMs);
+        int connections = bulkheads.stream().mapToInt(bulkhead -> bulkhead.maxConnections).sum();
+        if (connections > poolSize) {
+            log.warn("Bulkheads share out {} connections but the pool only has {}; they no longer isolate each other",
+                    connections, poolSize);
+        }
+        log.info("Bulkheads: chat={}, catalog={}, home={}, profile={}, uploads={}, other={}, background={} connections",
+                chat.maxConcurrent, catalog.maxConcurrent, home.maxConcurrent, profile.maxConcurrent,
+                uploads.maxConcurrent, other.maxConcurrent, background.maxConnections);
+    }
+
+    // Runs the task on another thread against the caller's bulkhead, as if the caller ran it
+    public static <T> Callable<T> inCurrentBulkhead(Callable<T> task) {
+        Bulkhead bulkhead = CURRENT.get();
+        return () -> {
+            Bulkhead previous = CURRENT.get();
+            CURRENT.set(bulkhead);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    // Takes a connection permit from the current thread's bulkhead; the returned action gives it back
+    Runnable acquireConnection() throws SQLException {
+        Bulkhead bulkhead = CURRENT.get() == null ? background : CURRENT.get();
+        long waitMs = bulkhead == background ? backgroundMaxWaitMs : connectionTimeoutMs;
+        if (!bulkhead.tryAcquireConnection(waitMs)) {
+            throw new SQLTransientConnectionException(
+                    "No free connection in the " + bulkhead.name + " bulkhead after " + waitMs + " ms");
+        }
+        return bulkhead::releaseConnection;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        Bulkhead bulkhead = bulkheadFor(request.getRequestURI());
+        if (!bulkhead.tryEnter()) {
+            reject(bulkhead, response);
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+        CURRENT.set(bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof Bulkhead bulkhead) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            CURRENT.remove();
+            bulkhead.exit();
+        }
+    }
+
+    public List<BulkheadStatsDTO> getStats() {
+        return bulkheads.stream().map(Bulkhead::toDTO).toList();
+    }
+
+    private Bulkhead register(String name, int maxConcurrent, int maxConnections, long maxWaitMs,
+            String... prefixes) {
+        Bulkhead bulkhead = new Bulkhead(name, maxConcurrent, maxConnections, maxWaitMs);
+        bulkheads.add(bulkhead);
+        for (String prefix : prefixes) {
+            byPrefix.put(prefix, bulkhead);
+        }
+        return bulkhead;
+    }
+
+    private Bulkhead bulkheadFor(String uri) {
+        for (Map.Entry<String, Bulkhead> entry : byPrefix.entrySet()) {
+            if (uri.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return other;
+    }
+
+    private void reject(Bulkhead bulkhead, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), new StandardResponse("error",
+                "The " + bulkhead.name + " service is busy, retry shortly", null, 503));
+    }
+
+    private static final class Bulkhead {
+        private final String name;
+        private final int maxConcurrent;
+        private final int maxConnections;
+        private final long maxWaitMs;
+        private final Semaphore permits;
+        private final Semaphore connectionPermits;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger peakActive = new AtomicInteger();
+        private final AtomicInteger peakConnections = new AtomicInteger();
+        private final AtomicLong accepted = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong connectionTimeouts = new AtomicLong();
+
+        private Bulkhead(String name, int maxConcurrent, int maxConnections, long maxWaitMs) {
+            this.name = name;
+            this.maxConcurrent = maxConcurrent;
+            this.maxConnections = maxConnections;
+            this.maxWaitMs = maxWaitMs;
+            this.permits = new Semaphore(maxConcurrent);
+            this.connectionPermits = new Semaphore(maxConnections);
+        }
+
+        boolean tryEnter() {
+            boolean entered;
+            try {
+                // Barging tryAcquire first: the uncontended path never parks
+                entered = permits.tryAcquire() || (maxWaitMs > 0 && permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                entered = false;
+            }
+            if (!entered) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            accepted.incrementAndGet();
+            peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            return true;
+        }
+
+        void exit() {
+            active.decrementAndGet();
+            permits.release();
+        }
+
+        boolean tryAcquireConnection(long waitMs) {
+            boolean acquired;
+            try {
+                acquired = connectionPermits.tryAcquire()
+                        || (waitMs > 0 && connectionPermits.tryAcquire(waitMs, TimeUnit.MILLISECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                connectionTimeouts.incrementAndGet();
+                return false;
+            }
+            peakConnections.accumulateAndGet(maxConnections - connectionPermits.availablePermits(), Math::max);
+            return true;
+        }
+
+        void releaseConnection() {
+            connectionPermits.release();
+        }
+
+        BulkheadStatsDTO toDTO() {
+            BulkheadStatsDTO dto = new BulkheadStatsDTO();
+            dto.setName(name);
+            dto.setMaxConcurrent(maxConcurrent);
+            dto.setMaxConnections(maxConnections);
+            dto.setMaxWaitMs(maxWaitMs);
+            dto.setActive(active.get());
+            dto.setPeakActive(peakActive.get());
+            dto.setAccepted(accepted.get());
+            dto.setRejected(rejected.get());
+            dto.setActiveConnections(maxConnections - connectionPermits.availablePermits());
+            dto.setPeakConnections(peakConnections.get());
+            dto.setConnectionTimeouts(connectionTimeouts.get());
+            return dto;
+        }
+    }
+}
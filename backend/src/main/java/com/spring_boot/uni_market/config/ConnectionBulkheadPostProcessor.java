@@ -0,0 +1,93 @@
+package com.spring_boot.uni_market.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps the pool so every connection it hands out holds a permit from BulkheadInterceptor's connection share
+ * for the current thread, given back when the connection is closed (returned to the pool). Without this a
+ * request cap says nothing about connections: background jobs and requests that fork work would use the pool
+ * uncapped.
+ */
+@Component
+public class ConnectionBulkheadPostProcessor implements BeanPostProcessor {
+
+    // Looked up on first use: the pool is created before the web layer
+    private final ObjectProvider<BulkheadInterceptor> bulkheadInterceptor;
+
+    public ConnectionBulkheadPostProcessor(ObjectProvider<BulkheadInterceptor> bulkheadInterceptor) {
+        this.bulkheadInterceptor = bulkheadInterceptor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+            return new BulkheadDataSource(dataSource, bulkheadInterceptor);
+        }
+        return bean;
+    }
+
+    private static final class BulkheadDataSource extends DelegatingDataSource {
+
+        private final ObjectProvider<BulkheadInterceptor> bulkheadInterceptor;
+
+        private BulkheadDataSource(DataSource target, ObjectProvider<BulkheadInterceptor> bulkheadInterceptor) {
+            super(target);
+            this.bulkheadInterceptor = bulkheadInterceptor;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Runnable release = bulkheadInterceptor.getObject().acquireConnection();
+            try {
+                return releasingOnClose(super.getConnection(), release);
+            } catch (SQLException | RuntimeException ex) {
+                release.run();
+                throw ex;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Runnable release = bulkheadInterceptor.getObject().acquireConnection();
+            try {
+                return releasingOnClose(super.getConnection(username, password), release);
+            } catch (SQLException | RuntimeException ex) {
+                release.run();
+                throw ex;
+            }
+        }
+
+        private static Connection releasingOnClose(Connection connection, Runnable release) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            try {
+                                connection.close();
+                            } finally {
+                                release.run();
+                            }
+                            return null;
+                        }
+                        if (method.getName().equals("unwrap") && ((Class<?>) args[0]).isInstance(proxy)) {
+                            return proxy;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+    }
+}
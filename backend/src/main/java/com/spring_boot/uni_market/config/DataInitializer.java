@@ -1,39 +1,100 @@
 package com.spring_boot.uni_market.config;
 
-import com.spring_boot.uni_market.entity.Category;
+import com.spring_boot.uni_market.entity.CampusPlace;
+import com.spring_boot.uni_market.repo.CampusPlaceRepo;
 import com.spring_boot.uni_market.repo.CategoryRepo;
+import com.spring_boot.uni_market.service.CategoryService;
+import com.spring_boot.uni_market.service.NearbyIndexService;
+import com.spring_boot.uni_market.service.ProductService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.boot.CommandLineRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 import java.util.List;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer {
+
+    private static final double METERS_PER_DEGREE = 111_195;
 
     private final CategoryRepo categoryRepo;
+    private final CategoryService categoryService;
+    private final CampusPlaceRepo campusPlaceRepo;
+    private final NearbyIndexService nearbyIndexService;
+    private final ProductService productService;
+
+    // Reference point of the campus; the seeded places are laid out around it
+    @Value("${app.campus.latitude:6.7951}")
+    private double campusLatitude;
+    @Value("${app.campus.longitude:79.9009}")
+    private double campusLongitude;
+
+    // Seeding is a one-off for empty databases, so it runs after startup instead of holding it up
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedInBackground() {
+        Thread.ofVirtual().name("data-initializer").start(() -> {
+            try {
+                seedCategories();
+            } catch (RuntimeException ex) {
+                log.error("Category seeding failed", ex);
+            }
+            try {
+                seedCampusPlaces();
+                // After seeding, so listings saved before their place existed are located and then gridded
+                int located = productService.locateExistingListings();
+                if (located > 0) {
+                    log.info("Located {} listings saved before their campus place was known", located);
+                }
+                nearbyIndexService.rebuild();
+            } catch (RuntimeException ex) {
+                log.error("Campus place seeding failed", ex);
+            }
+        });
+    }
 
-    @Override
-    public void run(String... args) throws Exception {
+    private void seedCategories() {
         if (categoryRepo.count() == 0) {
-            List<Category> categories = Arrays.asList(
-                    createCategory(1L, "Books"),
-                    createCategory(2L, "Electronics"),
-                    createCategory(3L, "Clothing"),
-                    createCategory(4L, "Sports"),
-                    createCategory(5L, "Furniture"),
-                    createCategory(6L, "Other"));
-            categoryRepo.saveAll(categories);
-            System.out.println("✅ Initial Categories Seeded");
+            categoryService.seedCategories(
+                    List.of("Books", "Electronics", "Clothing", "Sports", "Furniture", "Other"));
+            log.info("Initial categories seeded");
+        }
+    }
+
+    private void seedCampusPlaces() {
+        if (campusPlaceRepo.count() == 0) {
+            List<CampusPlace> places = Arrays.asList(
+                    createPlace("Main Library", 0, 0),
+                    createPlace("Main Gate", -420, -60),
+                    createPlace("Canteen", 60, 150),
+                    createPlace("Student Centre", 120, 80),
+                    createPlace("Lecture Hall Complex", -100, 60),
+                    createPlace("Auditorium", -150, -120),
+                    createPlace("Engineering Faculty", -250, 200),
+                    createPlace("Science Faculty", 200, -150),
+                    createPlace("Arts Faculty", 260, 120),
+                    createPlace("Medical Faculty", -350, -220),
+                    createPlace("Sports Complex", 450, 350),
+                    createPlace("Boys Hostel", 550, -300),
+                    createPlace("Girls Hostel", 500, 50),
+                    createPlace("Car Park", -330, 40));
+            campusPlaceRepo.saveAll(places);
+            log.info("Initial campus places seeded");
         }
     }
 
-    private Category createCategory(Long id, String name) {
-        Category category = new Category();
-        // Do not set ID manually for IDENTITY generation strategy
-        category.setName(name);
-        return category;
+    // Offsets in metres north and east of the campus reference point
+    private CampusPlace createPlace(String name, double north, double east) {
+        CampusPlace place = new CampusPlace();
+        place.setName(name);
+        place.setLatitude(campusLatitude + north / METERS_PER_DEGREE);
+        place.setLongitude(campusLongitude
+                + east / (METERS_PER_DEGREE * Math.cos(Math.toRadians(campusLatitude))));
+        return place;
     }
 }
@@ -0,0 +1,59 @@
+package com.spring_boot.uni_market.config;
+
+import com.spring_boot.uni_market.dto.*;
+import com.spring_boot.uni_market.entity.CampusPlace;
+import com.spring_boot.uni_market.entity.User;
+import com.spring_boot.uni_market.entity.UserProfile;
+import com.spring_boot.uni_market.repo.ImageHashRepo;
+import com.spring_boot.uni_market.repo.ProductRepo;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import java.sql.Connection;
+
+/**
+ * Reflection and proxy hints for the native image. Controllers return StandardResponse, whose data is typed
+ * as Object, so AOT cannot see which DTOs Jackson will serialize; they are listed here. Entities are
+ * registered by Spring's JPA AOT support, and their lazy associations are handled by build-time bytecode
+ * enhancement in the native profile, so only the entities returned directly by controllers appear below.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHints.ProjectionProxies.class)
+@RegisterReflectionForBinding({
+        StandardResponse.class,
+        AnalyticsDTO.class, AnalyticsDayDTO.class, ArchiveReportDTO.class, BulkheadStatsDTO.class,
+        CacheStatsDTO.class, CategoryActivityDTO.class, CategoryDTO.class, ChatSearchHitDTO.class,
+        ChatSearchResultDTO.class, ConnectionPoolStatsDTO.class, ConversationDTO.class, DomainEvent.class,
+        FacetCountsDTO.class, HomeDTO.class, LoginDTO.class, MessageDTO.class, NearbyProductDTO.class,
+        ProductDTO.class, ProductImageDTO.class, ProductSummaryDTO.class, ProductViewsDTO.class,
+        RateLimitStatsDTO.class, SavedSearchDTO.class, SearchAlertDTO.class, SyncChangeDTO.class,
+        SyncResponseDTO.class, TrendingProductDTO.class, UploadInitDTO.class, UploadSessionDTO.class,
+        UserRegisterDTO.class, UserSummaryDTO.class,
+        CampusPlace.class, User.class, UserProfile.class
+})
+public class NativeHints {
+
+    // Interface projections are backed by JDK proxies, which must be known at image build time
+    static class ProjectionProxies implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> projection : new Class<?>[] { ProductRepo.ProductVersion.class,
+                    ProductRepo.CatalogVersion.class, ProductRepo.SimilarityInput.class,
+                    ProductRepo.FacetInput.class, ProductRepo.ProductLocation.class,
+                    ImageHashRepo.ListingHash.class }) {
+                hints.proxies().registerJdkProxy(projection, TargetAware.class, SpringProxy.class,
+                        DecoratingProxy.class);
+            }
+            // ConnectionBulkheadPostProcessor hands out pooled connections behind a JDK proxy
+            hints.proxies().registerJdkProxy(Connection.class);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.spring_boot.uni_market.config;
+
+import com.spring_boot.uni_market.service.RateLimiter;
+import com.spring_boot.uni_market.service.SessionKeyService;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+
+/**
+ * Applies the RateLimiter to the routes configured under app.rate-limit.routes; every other request skips
+ * the filter entirely. Admitted requests carry RateLimit-Limit / RateLimit-Remaining / RateLimit-Reset;
+ * requests over their rate get 429 and requests past the route's concurrency limit 503, both with
+ * Retry-After.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Issued by POST /api/v1/user/login; keys the per-user bucket. Without a valid one only the IP bucket applies
+    public static final String SESSION_KEY_HEADER = "X-Session-Key";
+
+    private final RateLimiter rateLimiter;
+    private final SessionKeyService sessionKeyService;
+    private final JsonMapper jsonMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isLimited(request.getMethod(), request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String userId = sessionKeyService.verify(request.getHeader(SESSION_KEY_HEADER));
+        RateLimiter.Permit permit = rateLimiter.tryAcquire(request.getMethod(), request.getRequestURI(), userId,
+                request.getRemoteAddr());
+        if (permit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader("RateLimit-Limit", String.valueOf(permit.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(permit.remaining()));
+        switch (permit.outcome()) {
+            case THROTTLED -> reject(request, response, HttpStatus.TOO_MANY_REQUESTS, permit, "Too many requests");
+            case SHED -> reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, permit, "Server is busy");
+            case ALLOWED -> {
+                response.setHeader("RateLimit-Reset", String.valueOf(permit.resetSeconds()));
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    rateLimiter.release(permit);
+                }
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+            RateLimiter.Permit permit, String message) throws IOException {
+        // Rejected before the controller's @CrossOrigin applies; without this browsers hide the 429 from the app
+        if (request.getHeader(HttpHeaders.ORIGIN) != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        }
+        response.setStatus(status.value());
+        response.setHeader("RateLimit-Reset", String.valueOf(permit.resetSeconds()));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(permit.resetSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), new StandardResponse("error",
+                message + ", retry in " + permit.resetSeconds() + " s", null, status.value()));
+    }
+}
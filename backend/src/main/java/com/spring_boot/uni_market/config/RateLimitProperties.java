@@ -0,0 +1,41 @@
+package com.spring_boot.uni_market.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate-limit policies keyed by route name (app.rate-limit.routes.&lt;name&gt;.*). A route covers one HTTP method
+ * and one or more exact paths; a route is added by configuration alone.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    // Beyond this many tracked users (or IPs) per route, new keys share one overflow bucket
+    private int maxTrackedKeys = 100_000;
+    private Map<String, Policy> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Policy {
+        private String method = "POST";
+        private List<String> paths = List.of();
+        // Sustained rate and burst size of the per-user bucket (keyed by the X-Session-Key issued at login)
+        private long userPerMinute = 30;
+        private int userBurst = 10;
+        // Per client IP; looser, since a campus NAT puts many users behind one address
+        private long ipPerMinute = 120;
+        private int ipBurst = 40;
+        // AIMD concurrency limit: grows by ~1 per limit's worth of fast responses, shrinks on slow ones
+        private int initialConcurrency = 8;
+        private int minConcurrency = 2;
+        private int maxConcurrency = 32;
+        private long latencyTargetMs = 250;
+        private double backoffRatio = 0.9;
+    }
+}
@@ -0,0 +1,52 @@
+package com.spring_boot.uni_market.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs boot time and time-to-first-request, both measured from JVM start, so startup tuning (the
+ * fast-startup profile, lazy initialization) can be compared run to run.
+ */
+@Slf4j
+@Component
+public class StartupTimingFilter extends OncePerRequestFilter {
+
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+    // Also the last thing the fast-startup build's measuring run (spring.context.exit=onRefresh) prints
+    @EventListener(ContextRefreshedEvent.class)
+    public void logRefreshed() {
+        log.info("Context refreshed {} ms after JVM start", sinceJvmStart());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logReady() {
+        log.info("Application ready {} ms after JVM start", sinceJvmStart());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (!firstRequestSeen.get() && firstRequestSeen.compareAndSet(false, true)) {
+            log.info("First request ({} {}) served {} ms after JVM start", request.getMethod(),
+                    request.getRequestURI(), sinceJvmStart());
+        }
+    }
+
+    private long sinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
@@ -0,0 +1,45 @@
+package com.spring_boot.uni_market.config;
+
+import com.spring_boot.uni_market.entity.TrendingScore;
+import com.spring_boot.uni_market.repo.TrendingScoreRepo;
+import com.spring_boot.uni_market.service.ProductService;
+import com.spring_boot.uni_market.service.TrendingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingWarmStart {
+
+    private final TrendingScoreRepo trendingScoreRepo;
+    private final ProductService productService;
+    private final TrendingService trendingService;
+
+    // Off the startup path: until it finishes, trending boards simply start from live events
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreInBackground() {
+        Thread.ofVirtual().name("trending-warm-start").start(() -> {
+            try {
+                restore();
+            } catch (RuntimeException ex) {
+                log.error("Trending warm start failed", ex);
+            }
+        });
+    }
+
+    private void restore() {
+        List<TrendingScore> snapshot = trendingScoreRepo.findAll();
+        if (!snapshot.isEmpty()) {
+            List<Long> productIds = snapshot.stream().map(TrendingScore::getProductId).toList();
+            // Listings sold or hidden while the app was down are left out
+            trendingService.restore(snapshot, productService.getAvailableProductSummariesByIds(productIds));
+            log.info("Trending scores restored for {} products", snapshot.size());
+        }
+    }
+}
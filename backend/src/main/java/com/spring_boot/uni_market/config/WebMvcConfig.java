@@ -1,16 +1,57 @@
 package com.spring_boot.uni_market.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final BulkheadInterceptor bulkheadInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(bulkheadInterceptor).addPathPatterns("/api/v1/**");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Expose the 'uploads' directory to the web
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:uploads/");
     }
+
+    @Override
+    public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+        // Binary clients send "Accept: application/cbor" (or smile); "?format=cbor" helps when headers are awkward
+        configurer.favorParameter(true)
+                .parameterName("format")
+                .mediaType("json", MediaType.APPLICATION_JSON)
+                .mediaType("cbor", MediaType.APPLICATION_CBOR)
+                .mediaType("smile", APPLICATION_SMILE)
+                .defaultContentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // JSON stays first so clients without an explicit Accept header keep getting JSON
+        if (converters.stream().noneMatch(JacksonCborHttpMessageConverter.class::isInstance)) {
+            converters.add(new JacksonCborHttpMessageConverter());
+        }
+        if (converters.stream().noneMatch(JacksonSmileHttpMessageConverter.class::isInstance)) {
+            converters.add(new JacksonSmileHttpMessageConverter());
+        }
+    }
 }
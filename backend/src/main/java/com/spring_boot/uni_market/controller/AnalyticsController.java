@@ -0,0 +1,45 @@
+package com.spring_boot.uni_market.controller;
+
+import com.spring_boot.uni_market.dto.AnalyticsDTO;
+import com.spring_boot.uni_market.service.AnalyticsService;
+import com.spring_boot.uni_market.service.UserService;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+    @Autowired
+    private UserService userService;
+
+    @GetMapping
+    public ResponseEntity<StandardResponse> getAnalytics(@RequestParam Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!userService.isAdmin(userId)) {
+            return new ResponseEntity<>(
+                    new StandardResponse("error", "Analytics are only available to admins", null, 403),
+                    HttpStatus.FORBIDDEN);
+        }
+        try {
+            AnalyticsDTO analytics = analyticsService.getAnalytics(from, to);
+            return new ResponseEntity<>(
+                    new StandardResponse("success", "Analytics Retrieved", analytics, 200),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(
+                    new StandardResponse("error", ex.getMessage(), null, 400),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+}
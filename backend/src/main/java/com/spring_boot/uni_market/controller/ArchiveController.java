@@ -0,0 +1,47 @@
+package com.spring_boot.uni_market.controller;
+
+import com.spring_boot.uni_market.dto.ArchiveReportDTO;
+import com.spring_boot.uni_market.service.ArchiveService;
+import com.spring_boot.uni_market.service.UserService;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/archive")
+@CrossOrigin(origins = "*")
+public class ArchiveController {
+
+    @Autowired
+    private ArchiveService archiveService;
+    @Autowired
+    private UserService userService;
+
+    @PostMapping("/run")
+    public ResponseEntity<StandardResponse> runArchive(@RequestParam Long userId) {
+        if (!userService.isAdmin(userId)) {
+            return new ResponseEntity<>(
+                    new StandardResponse("error", "Archive runs are only available to admins", null, 403),
+                    HttpStatus.FORBIDDEN);
+        }
+        ArchiveReportDTO report = archiveService.runArchive();
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Archive Run Completed", report, 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/report")
+    public ResponseEntity<StandardResponse> getReport() {
+        ArchiveReportDTO report = archiveService.getLastReport();
+        if (report == null) {
+            return new ResponseEntity<>(
+                    new StandardResponse("error", "No archive run yet", null, 404),
+                    HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Archive Report", report, 200),
+                HttpStatus.OK);
+    }
+}
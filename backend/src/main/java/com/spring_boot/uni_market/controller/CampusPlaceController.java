@@ -0,0 +1,27 @@
+package com.spring_boot.uni_market.controller;
+
+import com.spring_boot.uni_market.entity.CampusPlace;
+import com.spring_boot.uni_market.service.CampusPlaceService;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/place")
+@CrossOrigin(origins = "*")
+public class CampusPlaceController {
+    @Autowired
+    private CampusPlaceService campusPlaceService;
+
+    @GetMapping("/list")
+    public ResponseEntity<StandardResponse> getAllPlaces() {
+        List<CampusPlace> places = campusPlaceService.getAllPlaces();
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Campus Places Retrieved", places, 200),
+                HttpStatus.OK);
+    }
+}
@@ -1,6 +1,8 @@
 package com.spring_boot.uni_market.controller;
 
+import com.spring_boot.uni_market.dto.ChatSearchResultDTO;
 import com.spring_boot.uni_market.dto.MessageDTO;
+import com.spring_boot.uni_market.service.ChatSearchService;
 import com.spring_boot.uni_market.service.ChatService;
 import com.spring_boot.uni_market.utils.StandardResponse;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +19,8 @@ public class ChatController {
 
     @Autowired
     private ChatService chatService;
+    @Autowired
+    private ChatSearchService chatSearchService;
 
     @PostMapping("/send")
     public ResponseEntity<StandardResponse> sendMessage(@RequestBody MessageDTO dto) {
@@ -42,4 +46,28 @@ public class ChatController {
                 new StandardResponse("success", "Conversations Retrieved", conversations, 200),
                 HttpStatus.OK);
     }
+
+    @GetMapping("/conversations/{userId}/archived")
+    public ResponseEntity<StandardResponse> getArchivedConversations(@PathVariable Long userId) {
+        List<com.spring_boot.uni_market.dto.ConversationDTO> conversations = chatService
+                .getArchivedConversationsForUser(userId);
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Archived Conversations Retrieved", conversations, 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<StandardResponse> search(@RequestParam Long userId, @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        try {
+            ChatSearchResultDTO result = chatSearchService.search(userId, q, page, size);
+            return new ResponseEntity<>(
+                    new StandardResponse("success", "Chat Search Results", result, 200),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(
+                    new StandardResponse("error", ex.getMessage(), null, 400),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package com.spring_boot.uni_market.controller;
+
+import com.spring_boot.uni_market.dto.HomeDTO;
+import com.spring_boot.uni_market.service.HomeService;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/home")
+@CrossOrigin(origins = "*")
+public class HomeController {
+
+    @Autowired
+    private HomeService homeService;
+
+    @GetMapping
+    public ResponseEntity<StandardResponse> getHome(@RequestParam(required = false) Long userId) {
+        HomeDTO home = homeService.getHome(userId);
+        String message = home.getFailedBranches().isEmpty() ? "Home Retrieved" : "Home Partially Retrieved";
+        return new ResponseEntity<>(
+                new StandardResponse("success", message, home, 200),
+                HttpStatus.OK);
+    }
+}
@@ -1,7 +1,11 @@
 package com.spring_boot.uni_market.controller;
 
+import com.spring_boot.uni_market.dto.UploadInitDTO;
+import com.spring_boot.uni_market.exception.UploadClosedException;
+import com.spring_boot.uni_market.service.ChunkedUploadService;
 import com.spring_boot.uni_market.service.ImageService;
 import com.spring_boot.uni_market.utils.StandardResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +13,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/v1/image")
 @CrossOrigin(origins = "*")
@@ -16,6 +22,8 @@ public class ImageController {
 
     @Autowired
     private ImageService imageService;
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
 
     @PostMapping("/upload")
     public ResponseEntity<StandardResponse> uploadFile(@RequestParam("file") MultipartFile file) {
@@ -30,4 +38,75 @@ public class ImageController {
                 new StandardResponse("success", "File Uploaded", fileDownloadUri, 201),
                 HttpStatus.CREATED);
     }
+
+    @PostMapping("/upload/init")
+    public ResponseEntity<StandardResponse> initUpload(@RequestBody UploadInitDTO uploadInitDTO) {
+        try {
+            return new ResponseEntity<>(
+                    new StandardResponse("success", "Upload Started", chunkedUploadService.initiate(uploadInitDTO), 201),
+                    HttpStatus.CREATED);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex);
+        }
+    }
+
+    // Raw chunk bytes as the request body (application/octet-stream), read straight off the socket
+    @PutMapping("/upload/{uploadId}/chunks/{index}")
+    public ResponseEntity<StandardResponse> uploadChunk(@PathVariable String uploadId, @PathVariable int index,
+            @RequestHeader(value = "X-Chunk-Checksum", required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+        try {
+            return new ResponseEntity<>(
+                    new StandardResponse("success", "Chunk Stored",
+                            chunkedUploadService.acceptChunk(uploadId, index, checksum, request.getInputStream()), 200),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex);
+        } catch (UploadClosedException ex) {
+            return conflict(ex);
+        }
+    }
+
+    @GetMapping("/upload/{uploadId}")
+    public ResponseEntity<StandardResponse> getUploadStatus(@PathVariable String uploadId) {
+        try {
+            return new ResponseEntity<>(
+                    new StandardResponse("success", "Upload Status", chunkedUploadService.getStatus(uploadId), 200),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex);
+        }
+    }
+
+    @PostMapping("/upload/{uploadId}/complete")
+    public ResponseEntity<StandardResponse> completeUpload(@PathVariable String uploadId) {
+        try {
+            String fileName = chunkedUploadService.complete(uploadId);
+
+            String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/uploads/")
+                    .path(fileName)
+                    .toUriString();
+
+            return new ResponseEntity<>(
+                    new StandardResponse("success", "File Uploaded", fileDownloadUri, 201),
+                    HttpStatus.CREATED);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex);
+        } catch (UploadClosedException ex) {
+            return conflict(ex);
+        }
+    }
+
+    private ResponseEntity<StandardResponse> badRequest(IllegalArgumentException ex) {
+        return new ResponseEntity<>(
+                new StandardResponse("error", ex.getMessage(), null, 400),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    private ResponseEntity<StandardResponse> conflict(UploadClosedException ex) {
+        return new ResponseEntity<>(
+                new StandardResponse("error", ex.getMessage(), null, 409),
+                HttpStatus.CONFLICT);
+    }
 }
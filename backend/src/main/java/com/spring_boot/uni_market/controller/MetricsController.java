@@ -0,0 +1,46 @@
+package com.spring_boot.uni_market.controller;
+
+import com.spring_boot.uni_market.dto.BulkheadStatsDTO;
+import com.spring_boot.uni_market.dto.ConnectionPoolStatsDTO;
+import com.spring_boot.uni_market.dto.RateLimitStatsDTO;
+import com.spring_boot.uni_market.service.MetricsService;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @GetMapping("/bulkheads")
+    public ResponseEntity<StandardResponse> getBulkheads() {
+        List<BulkheadStatsDTO> stats = metricsService.getBulkheadStats();
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Bulkhead Stats", stats, 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/rate-limits")
+    public ResponseEntity<StandardResponse> getRateLimits() {
+        List<RateLimitStatsDTO> stats = metricsService.getRateLimitStats();
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Rate Limit Stats", stats, 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/connection-pool")
+    public ResponseEntity<StandardResponse> getConnectionPool() {
+        ConnectionPoolStatsDTO stats = metricsService.getConnectionPoolStats();
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Connection Pool Stats", stats, 200),
+                HttpStatus.OK);
+    }
+}
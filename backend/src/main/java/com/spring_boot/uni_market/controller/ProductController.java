@@ -1,14 +1,31 @@
 package com.spring_boot.uni_market.controller;
 
+import com.spring_boot.uni_market.dto.FacetCountsDTO;
+import com.spring_boot.uni_market.dto.NearbyProductDTO;
 import com.spring_boot.uni_market.dto.ProductDTO;
+import com.spring_boot.uni_market.dto.ProductSummaryDTO;
+import com.spring_boot.uni_market.dto.ProductViewsDTO;
+import com.spring_boot.uni_market.dto.TrendingProductDTO;
+import com.spring_boot.uni_market.enums.ProductCondition;
+import com.spring_boot.uni_market.enums.ProductField;
+import com.spring_boot.uni_market.exception.DuplicateListingException;
+import com.spring_boot.uni_market.enums.ProductStatus;
+import com.spring_boot.uni_market.service.FacetIndexService;
 import com.spring_boot.uni_market.service.ProductService;
+import com.spring_boot.uni_market.service.TrendingService;
+import com.spring_boot.uni_market.service.ViewCounterService;
 import com.spring_boot.uni_market.utils.StandardResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/product")
@@ -17,36 +34,161 @@ public class ProductController {
 
     @Autowired
     private ProductService productService;
+    @Autowired
+    private ViewCounterService viewCounterService;
+    @Autowired
+    private TrendingService trendingService;
+    @Autowired
+    private FacetIndexService facetIndexService;
 
     @PostMapping("/add")
     public ResponseEntity<StandardResponse> addProduct(@RequestBody ProductDTO dto) {
-        String res = productService.addProduct(dto);
-        return new ResponseEntity<>(
-                new StandardResponse("success", res, null, 201),
-                HttpStatus.CREATED);
+        try {
+            String res = productService.addProduct(dto);
+            return new ResponseEntity<>(
+                    new StandardResponse("success", res, null, 201),
+                    HttpStatus.CREATED);
+        } catch (DuplicateListingException ex) {
+            return new ResponseEntity<>(
+                    new StandardResponse("error", ex.getMessage(), null, 409),
+                    HttpStatus.CONFLICT);
+        }
     }
 
+    // ?fields=title,price,imageUrls returns only those fields (plus productId) and skips the lookups for the rest.
+    // The ETag stays the entity version: the fields are part of the URL, so caches keep representations apart.
     @GetMapping("/list")
-    public ResponseEntity<StandardResponse> getAllProducts() {
-        List<ProductDTO> products = productService.getAllProducts();
+    public ResponseEntity<StandardResponse> getAllProducts(@RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<ProductField> selected;
+        try {
+            selected = ProductField.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex);
+        }
+        String eTag = productService.getCatalogETag();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        List<ProductDTO> products = productService.getAllProducts(selected);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(new StandardResponse("success", "Products Retrieved", sparse(products, fields, selected), 200));
+    }
+
+    @GetMapping("/list/summary")
+    public ResponseEntity<StandardResponse> getAllProductSummaries() {
+        List<ProductSummaryDTO> products = productService.getAllProductSummaries();
         return new ResponseEntity<>(
                 new StandardResponse("success", "Products Retrieved", products, 200),
                 HttpStatus.OK);
     }
 
-    @GetMapping("/category/{categoryId}")
-    public ResponseEntity<StandardResponse> getProductsByCategory(@PathVariable Long categoryId) {
-        List<ProductDTO> products = productService.getProductsByCategory(categoryId);
+    @GetMapping("/category/{categoryId}/summary")
+    public ResponseEntity<StandardResponse> getProductSummariesByCategory(@PathVariable Long categoryId) {
+        List<ProductSummaryDTO> products = productService.getProductSummariesByCategory(categoryId);
         return new ResponseEntity<>(
                 new StandardResponse("success", "Products Retrieved", products, 200),
                 HttpStatus.OK);
     }
 
+    @GetMapping("/category/{categoryId}")
+    public ResponseEntity<StandardResponse> getProductsByCategory(@PathVariable Long categoryId,
+            @RequestParam(required = false) String fields) {
+        Set<ProductField> selected;
+        try {
+            selected = ProductField.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex);
+        }
+        List<ProductDTO> products = productService.getProductsByCategory(categoryId, selected);
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Products Retrieved", sparse(products, fields, selected), 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<StandardResponse> getTrending(@RequestParam(required = false) Long categoryId) {
+        List<TrendingProductDTO> products = trendingService.getTrending(categoryId);
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Trending Products Retrieved", products, 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<StandardResponse> getFacets(@RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) ProductCondition condition,
+            @RequestParam(required = false) ProductStatus status,
+            @RequestParam(required = false) String priceBucket) {
+        try {
+            FacetCountsDTO facets = facetIndexService.getFacets(categoryId, condition, status, priceBucket);
+            return new ResponseEntity<>(
+                    new StandardResponse("success", "Facets Retrieved", facets, 200),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex);
+        }
+    }
+
+    // Available listings at campus places within radius metres of the point, nearest first
+    @GetMapping("/nearby")
+    public ResponseEntity<StandardResponse> getNearbyProducts(@RequestParam double lat, @RequestParam double lng,
+            @RequestParam(defaultValue = "1000") double radius, @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<NearbyProductDTO> products = productService.getNearbyProducts(lat, lng, radius, limit);
+            return new ResponseEntity<>(
+                    new StandardResponse("success", "Nearby Products Retrieved", products, 200),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex);
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<StandardResponse> getProductById(@PathVariable Long id) {
-        ProductDTO product = productService.getProductById(id);
+    public ResponseEntity<StandardResponse> getProductById(@PathVariable Long id,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        Set<ProductField> selected;
+        try {
+            selected = ProductField.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex);
+        }
+        String eTag = productService.getProductETag(id);
+        if (request.checkNotModified(eTag)) {
+            // Revalidations are views too; a full read below counts its own in getProductById
+            productService.recordView(id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        ProductDTO product = productService.getProductById(id, selected);
+        Object body = fields == null || fields.isBlank() ? product : ProductField.project(product, selected);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(new StandardResponse("success", "Product Retrieved", body, 200));
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<StandardResponse> getSimilarProducts(@PathVariable Long id) {
+        List<ProductSummaryDTO> products = productService.getSimilarProducts(id);
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Similar Products Retrieved", products, 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/views")
+    public ResponseEntity<StandardResponse> getProductViews(@PathVariable Long id) {
+        ProductViewsDTO views = new ProductViewsDTO(id, viewCounterService.getViews(id));
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Views Retrieved", views, 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/views/total")
+    public ResponseEntity<StandardResponse> getTotalViews() {
+        long total = viewCounterService.getTotalViews();
         return new ResponseEntity<>(
-                new StandardResponse("success", "Product Retrieved", product, 200),
+                new StandardResponse("success", "Views Retrieved", total, 200),
                 HttpStatus.OK);
     }
 
@@ -59,10 +201,32 @@ public class ProductController {
     }
 
     @PutMapping("/update")
-    public ResponseEntity<StandardResponse> updateProduct(@RequestBody ProductDTO dto) {
-        String res = productService.updateProduct(dto);
+    public ResponseEntity<StandardResponse> updateProduct(@RequestBody ProductDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            String res = productService.updateProduct(dto, ifMatch);
+            return new ResponseEntity<>(
+                    new StandardResponse("success", res, null, 200),
+                    HttpStatus.OK);
+        } catch (OptimisticLockingFailureException ex) {
+            return new ResponseEntity<>(
+                    new StandardResponse("error", "Product was modified by someone else. Reload and try again.",
+                            null, 412),
+                    HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+
+    // Without ?fields= the full DTOs are returned unchanged
+    private Object sparse(List<ProductDTO> products, String fields, Set<ProductField> selected) {
+        if (fields == null || fields.isBlank()) {
+            return products;
+        }
+        return products.stream().map(product -> ProductField.project(product, selected)).toList();
+    }
+
+    private ResponseEntity<StandardResponse> badRequest(IllegalArgumentException ex) {
         return new ResponseEntity<>(
-                new StandardResponse("success", res, null, 200),
-                HttpStatus.OK);
+                new StandardResponse("error", ex.getMessage(), null, 400),
+                HttpStatus.BAD_REQUEST);
     }
 }
@@ -0,0 +1,53 @@
+package com.spring_boot.uni_market.controller;
+
+import com.spring_boot.uni_market.dto.SavedSearchDTO;
+import com.spring_boot.uni_market.dto.SearchAlertDTO;
+import com.spring_boot.uni_market.service.SavedSearchService;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@CrossOrigin(origins = "*")
+public class SavedSearchController {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @PostMapping("/saved")
+    public ResponseEntity<StandardResponse> createSavedSearch(@RequestBody SavedSearchDTO dto) {
+        SavedSearchDTO saved = savedSearchService.createSavedSearch(dto);
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Saved Search Created", saved, 201),
+                HttpStatus.CREATED);
+    }
+
+    @GetMapping("/saved/{userId}")
+    public ResponseEntity<StandardResponse> getSavedSearches(@PathVariable Long userId) {
+        List<SavedSearchDTO> searches = savedSearchService.getSavedSearches(userId);
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Saved Searches Retrieved", searches, 200),
+                HttpStatus.OK);
+    }
+
+    @DeleteMapping("/saved/{savedSearchId}")
+    public ResponseEntity<StandardResponse> deleteSavedSearch(@PathVariable Long savedSearchId) {
+        String res = savedSearchService.deleteSavedSearch(savedSearchId);
+        return new ResponseEntity<>(
+                new StandardResponse("success", res, null, 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/alerts/{userId}")
+    public ResponseEntity<StandardResponse> pollAlerts(@PathVariable Long userId) {
+        List<SearchAlertDTO> alerts = savedSearchService.pollAlerts(userId);
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Alerts Retrieved", alerts, 200),
+                HttpStatus.OK);
+    }
+}
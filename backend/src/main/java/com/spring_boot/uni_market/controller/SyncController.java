@@ -0,0 +1,34 @@
+package com.spring_boot.uni_market.controller;
+
+import com.spring_boot.uni_market.dto.SyncResponseDTO;
+import com.spring_boot.uni_market.service.SyncService;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@CrossOrigin(origins = "*")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<StandardResponse> getChanges(@RequestParam(defaultValue = "0") Long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        SyncResponseDTO changes = syncService.getChanges(since, limit);
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Changes Retrieved", changes, 200),
+                HttpStatus.OK);
+    }
+
+    @GetMapping("/head")
+    public ResponseEntity<StandardResponse> getHead() {
+        return new ResponseEntity<>(
+                new StandardResponse("success", "Sync Head Retrieved", syncService.getHead(), 200),
+                HttpStatus.OK);
+    }
+}
@@ -1,23 +1,34 @@
 package com.spring_boot.uni_market.controller;
 
+import com.spring_boot.uni_market.config.RateLimitFilter;
 import com.spring_boot.uni_market.dto.LoginDTO;
 import com.spring_boot.uni_market.dto.UserRegisterDTO;
 import com.spring_boot.uni_market.entity.User;
 import com.spring_boot.uni_market.entity.UserProfile;
+import com.spring_boot.uni_market.service.SessionKeyService;
 import com.spring_boot.uni_market.service.UserService;
+import com.spring_boot.uni_market.service.UserSummaryCache;
 import com.spring_boot.uni_market.utils.StandardResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/user")
-@CrossOrigin(origins = "*") // Allow for frontend dev
+@CrossOrigin(origins = "*", exposedHeaders = RateLimitFilter.SESSION_KEY_HEADER) // Allow for frontend dev
 public class UserController {
 
     @Autowired
     private UserService userService;
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+    @Autowired
+    private SessionKeyService sessionKeyService;
 
     @PostMapping("/register")
     public ResponseEntity<StandardResponse> registerUser(@RequestBody UserRegisterDTO dto) {
@@ -32,24 +43,43 @@ public class UserController {
         User user = userService.loginUser(dto);
         // Warning: Returning partial user entity directly. In prod, return a JWT +
         // minimal DTO.
-        return new ResponseEntity<>(
-                new StandardResponse("success", "Login Successful", user, 200),
-                HttpStatus.OK);
+        return ResponseEntity.ok()
+                .header(RateLimitFilter.SESSION_KEY_HEADER, sessionKeyService.issue(user.getUserId()))
+                .body(new StandardResponse("success", "Login Successful", user, 200));
     }
 
     @GetMapping("/profile/{id}")
-    public ResponseEntity<StandardResponse> getUserProfile(@PathVariable Long id) {
+    public ResponseEntity<StandardResponse> getUserProfile(@PathVariable Long id, WebRequest request) {
+        String eTag = userService.getProfileETag(id);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         UserProfile profile = userService.getUserProfile(id);
-        return new ResponseEntity<>(
-                new StandardResponse("success", "Profile Retrieved", profile, 200),
-                HttpStatus.OK);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(new StandardResponse("success", "Profile Retrieved", profile, 200));
     }
 
     @PutMapping("/profile/update")
-    public ResponseEntity<StandardResponse> updateProfile(@RequestBody UserProfile profile) {
-        String res = userService.updateProfile(profile);
+    public ResponseEntity<StandardResponse> updateProfile(@RequestBody UserProfile profile,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            String res = userService.updateProfile(profile, ifMatch);
+            return new ResponseEntity<>(
+                    new StandardResponse("success", res, null, 200),
+                    HttpStatus.OK);
+        } catch (OptimisticLockingFailureException ex) {
+            return new ResponseEntity<>(
+                    new StandardResponse("error", "Profile was modified elsewhere. Reload and try again.", null, 412),
+                    HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<StandardResponse> getUserCacheStats() {
         return new ResponseEntity<>(
-                new StandardResponse("success", res, null, 200),
+                new StandardResponse("success", "User Cache Stats", userSummaryCache.getStats(), 200),
                 HttpStatus.OK);
     }
 }
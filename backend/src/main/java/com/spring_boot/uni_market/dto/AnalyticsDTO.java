@@ -0,0 +1,21 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class AnalyticsDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private long listingsCreated;
+    private long listingsSold;
+    private long messagesSent;
+    private long conversationsStarted;
+    // Over all first replies in the range; null when there were none
+    private Long medianFirstReplySeconds;
+    // Active users are distinct per day, so they are only reported per day and never summed
+    private List<AnalyticsDayDTO> days;
+    private List<CategoryActivityDTO> categories;
+}
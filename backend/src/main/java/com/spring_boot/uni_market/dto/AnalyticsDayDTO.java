@@ -0,0 +1,17 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class AnalyticsDayDTO {
+    private LocalDate day;
+    private long listingsCreated;
+    private long listingsSold;
+    private long messagesSent;
+    private long conversationsStarted;
+    private long activeUsers;
+    private long firstReplies;
+    private Long medianFirstReplySeconds;
+}
@@ -0,0 +1,20 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class ArchiveReportDTO {
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private long productsArchived;
+    private long conversationsArchived;
+    private long messagesArchived;
+    // Keyed by hot table name
+    private Map<String, Long> rowsBefore;
+    private Map<String, Long> rowsAfter;
+    private Map<String, Long> scanMsBefore;
+    private Map<String, Long> scanMsAfter;
+}
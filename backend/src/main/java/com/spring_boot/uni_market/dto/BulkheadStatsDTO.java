@@ -0,0 +1,18 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkheadStatsDTO {
+    private String name;
+    private int maxConcurrent;
+    private int maxConnections;
+    private long maxWaitMs;
+    private int active;
+    private int peakActive;
+    private long accepted;
+    private long rejected;
+    private int activeConnections;
+    private int peakConnections;
+    private long connectionTimeouts;
+}
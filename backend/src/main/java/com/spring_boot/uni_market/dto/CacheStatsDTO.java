@@ -0,0 +1,15 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheStatsDTO {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private long loadQueries;
+    private long evictions;
+    private long invalidations;
+    private double hitRate;
+}
@@ -0,0 +1,11 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+@Data
+public class CategoryActivityDTO {
+    private Long categoryId;
+    private String categoryName;
+    private long listingsCreated;
+    private long listingsSold;
+}
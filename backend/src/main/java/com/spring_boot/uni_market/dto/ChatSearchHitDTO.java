@@ -0,0 +1,20 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ChatSearchHitDTO {
+    private Long conversationId;
+    private Long productId;
+    private String productTitle;
+    private Long messageId;
+    private Long senderId;
+    private LocalDateTime sentAt;
+    // Up to ~160 characters of the message around the first match
+    private String snippet;
+    // [start, end) character offsets of the matched words within snippet
+    private List<int[]> highlights;
+}
@@ -0,0 +1,15 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ChatSearchResultDTO {
+    private String query;
+    private int page;
+    private int size;
+    private long total;
+    // Newest first
+    private List<ChatSearchHitDTO> hits;
+}
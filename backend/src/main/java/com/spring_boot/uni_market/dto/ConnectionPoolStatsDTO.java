@@ -0,0 +1,12 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+@Data
+public class ConnectionPoolStatsDTO {
+    private int maximumPoolSize;
+    private int active;
+    private int idle;
+    private int total;
+    private int threadsAwaitingConnection;
+}
@@ -0,0 +1,30 @@
+package com.spring_boot.uni_market.dto;
+
+import com.spring_boot.uni_market.enums.DomainEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DomainEvent {
+    private Long eventId;
+    private DomainEventType type;
+    private Long aggregateId;
+    private Map<String, Object> payload;
+    private LocalDateTime occurredAt;
+
+    // JSON numbers come back as Integer or Long depending on size
+    public Long getLong(String key) {
+        Object value = payload.get(key);
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    public boolean getFlag(String key) {
+        return Boolean.TRUE.equals(payload.get(key));
+    }
+}
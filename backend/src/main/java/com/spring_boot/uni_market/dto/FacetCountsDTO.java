@@ -0,0 +1,16 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class FacetCountsDTO {
+    // Listings matching every filter
+    private long total;
+    // Each facet is counted under all filters except its own, so the UI can show alternatives
+    private Map<Long, Long> categories;
+    private Map<String, Long> conditions;
+    private Map<String, Long> statuses;
+    private Map<String, Long> priceBuckets;
+}
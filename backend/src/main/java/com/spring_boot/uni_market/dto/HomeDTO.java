@@ -0,0 +1,18 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class HomeDTO {
+    private List<CategoryDTO> categories;
+    private List<ProductSummaryDTO> latest;
+    private List<TrendingProductDTO> trending;
+    private Long unreadCount;
+    // Branches that failed or timed out (their section above is null), with the reason
+    private Map<String, String> failedBranches;
+    private Map<String, Long> branchTimingsMs;
+    private long elapsedMs;
+}
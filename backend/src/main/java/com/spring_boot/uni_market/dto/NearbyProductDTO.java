@@ -0,0 +1,10 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+@Data
+public class NearbyProductDTO {
+    private ProductDTO product;
+    // Straight-line distance from the query point, rounded to the metre
+    private long distanceMeters;
+}
@@ -1,6 +1,7 @@
 package com.spring_boot.uni_market.dto;
 
 import com.spring_boot.uni_market.enums.ProductCondition;
+import com.spring_boot.uni_market.enums.ProductStatus;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -15,10 +16,16 @@ public class ProductDTO {
     private String description;
     private BigDecimal price;
     private ProductCondition condition;
+    private ProductStatus status;
     private String location;
+    // Coordinates of the campus place named by location; null when it names none
+    private Double latitude;
+    private Double longitude;
     private String contactPhone;
     private String sellerName;
     private String categoryName;
     private List<String> imageUrls;
     private java.time.LocalDateTime createdAt;
+    // Set when the listing was flagged as a possible repost of that product
+    private Long duplicateOf;
 }
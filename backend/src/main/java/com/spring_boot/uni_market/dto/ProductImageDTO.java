@@ -0,0 +1,11 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+@Data
+public class ProductImageDTO {
+    private Long imageId;
+    private Long productId;
+    private String imageUrl;
+    private boolean isPrimary;
+}
@@ -0,0 +1,17 @@
+package com.spring_boot.uni_market.dto;
+
+import com.spring_boot.uni_market.enums.ProductCondition;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class ProductSummaryDTO {
+    private Long productId;
+    private String title;
+    private BigDecimal price;
+    private ProductCondition condition;
+    private String primaryImageUrl;
+    private Long categoryId;
+    private String categoryName;
+}
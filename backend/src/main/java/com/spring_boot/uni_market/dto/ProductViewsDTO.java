@@ -0,0 +1,13 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductViewsDTO {
+    private Long productId;
+    private long views;
+}
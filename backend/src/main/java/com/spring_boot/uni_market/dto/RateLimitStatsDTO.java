@@ -0,0 +1,19 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RateLimitStatsDTO {
+    private String route;
+    private String method;
+    private List<String> paths;
+    private int concurrencyLimit;
+    private int inFlight;
+    private long allowed;
+    private long throttled;
+    private long shed;
+    private int trackedUsers;
+    private int trackedIps;
+}
@@ -0,0 +1,18 @@
+package com.spring_boot.uni_market.dto;
+
+import com.spring_boot.uni_market.enums.ProductCondition;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class SavedSearchDTO {
+    private Long savedSearchId;
+    private Long userId;
+    private String keywords;
+    private Long categoryId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private ProductCondition condition;
+    private String location;
+}
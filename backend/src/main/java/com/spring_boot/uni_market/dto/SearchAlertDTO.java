@@ -0,0 +1,15 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class SearchAlertDTO {
+    private Long savedSearchId;
+    private Long productId;
+    private String productTitle;
+    private BigDecimal price;
+    private LocalDateTime matchedAt;
+}
@@ -0,0 +1,15 @@
+package com.spring_boot.uni_market.dto;
+
+import com.spring_boot.uni_market.enums.ChangeEntityType;
+import com.spring_boot.uni_market.enums.ChangeOperation;
+import lombok.Data;
+
+@Data
+public class SyncChangeDTO {
+    private Long seq;
+    private ChangeEntityType entityType;
+    private Long entityId;
+    private ChangeOperation operation;
+    // ProductDTO, ProductImageDTO or CategoryDTO for upserts; null for tombstones
+    private Object data;
+}
@@ -0,0 +1,12 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SyncResponseDTO {
+    private List<SyncChangeDTO> changes;
+    private Long nextSince;
+    private boolean hasMore;
+}
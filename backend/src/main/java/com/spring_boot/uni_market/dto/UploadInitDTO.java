@@ -0,0 +1,11 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+@Data
+public class UploadInitDTO {
+    private String fileName;
+    private Long totalSize;
+    // Optional; server default is used when absent
+    private Integer chunkSize;
+}
@@ -0,0 +1,15 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UploadSessionDTO {
+    private String uploadId;
+    private String fileName;
+    private long totalSize;
+    private int chunkSize;
+    private int totalChunks;
+    private List<Integer> receivedChunks;
+}
@@ -0,0 +1,15 @@
+package com.spring_boot.uni_market.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDTO {
+    private Long userId;
+    private String fullName;
+    private String phone;
+    private String avatarUrl;
+}
@@ -0,0 +1,42 @@
+package com.spring_boot.uni_market.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "conversation_archive", indexes = {
+        @Index(name = "idx_conversation_archive_buyer", columnList = "buyer_id"),
+        @Index(name = "idx_conversation_archive_seller", columnList = "seller_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedConversation {
+
+    @Id
+    @Column(name = "conversation_id")
+    private Long conversationId;
+
+    @Column(name = "buyer_id", nullable = false)
+    private Long buyerId;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // Snapshot, since the product itself may have been archived or purged since
+    @Column(name = "product_title")
+    private String productTitle;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,36 @@
+package com.spring_boot.uni_market.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "message_archive", indexes = @Index(name = "idx_message_archive_conversation",
+        columnList = "conversation_id, sent_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedMessage {
+
+    @Id
+    @Column(name = "message_id")
+    private Long messageId;
+
+    @Column(name = "conversation_id", nullable = false)
+    private Long conversationId;
+
+    @Column(name = "sender_id", nullable = false)
+    private Long senderId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "is_read")
+    private boolean isRead;
+}
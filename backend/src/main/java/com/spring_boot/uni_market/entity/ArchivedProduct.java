@@ -0,0 +1,65 @@
+package com.spring_boot.uni_market.entity;
+
+import com.spring_boot.uni_market.enums.ProductCondition;
+import com.spring_boot.uni_market.enums.ProductStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Cold copy of a sold/hidden listing, written by ArchiveService; no foreign keys so rows move freely
+@Entity
+@Table(name = "product_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedProduct {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "condition_status", nullable = false)
+    private ProductCondition condition;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProductStatus status;
+
+    private String location;
+
+    @Column(name = "contact_phone")
+    private String contactPhone;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    // Newline-separated, primary image first
+    @Column(name = "image_urls", columnDefinition = "TEXT")
+    private String imageUrls;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,29 @@
+package com.spring_boot.uni_market.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A named spot on campus; listings whose location matches the name take its coordinates
+@Entity
+@Table(name = "campus_place")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampusPlace {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "place_id")
+    private Long placeId;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+}
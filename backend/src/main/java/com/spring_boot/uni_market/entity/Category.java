@@ -31,4 +31,8 @@ public class Category {
     @OneToMany(mappedBy = "parent")
     @ToString.Exclude
     private List<Category> subCategories;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
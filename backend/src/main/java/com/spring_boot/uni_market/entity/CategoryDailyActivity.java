@@ -0,0 +1,30 @@
+package com.spring_boot.uni_market.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "analytics_category_daily")
+@IdClass(CategoryDailyActivityId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryDailyActivity {
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "listings_created", nullable = false)
+    private long listingsCreated;
+
+    @Column(name = "listings_sold", nullable = false)
+    private long listingsSold;
+}
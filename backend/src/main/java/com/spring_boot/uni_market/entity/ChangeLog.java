@@ -0,0 +1,43 @@
+package com.spring_boot.uni_market.entity;
+
+import com.spring_boot.uni_market.enums.ChangeEntityType;
+import com.spring_boot.uni_market.enums.ChangeOperation;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "change_log")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "change_seq")
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeOperation operation;
+
+    @CreationTimestamp
+    @Column(name = "changed_at", updatable = false)
+    private LocalDateTime changedAt;
+
+    // Commit order: handed out by ChangeLogSequencer once the row is visible, null until then
+    @Column(name = "sync_seq", unique = true)
+    private Long syncSeq;
+}
@@ -41,4 +41,8 @@ public class Conversation {
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    // When the other party first answered the opening message; null until then
+    @Column(name = "first_reply_at")
+    private LocalDateTime firstReplyAt;
 }
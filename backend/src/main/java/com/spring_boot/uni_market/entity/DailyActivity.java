@@ -0,0 +1,32 @@
+package com.spring_boot.uni_market.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One row per day, incremented by AnalyticsSubscriber; never recomputed from the base tables
+@Entity
+@Table(name = "analytics_daily")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyActivity {
+
+    @Id
+    private LocalDate day;
+
+    @Column(name = "messages_sent", nullable = false)
+    private long messagesSent;
+
+    @Column(name = "conversations_started", nullable = false)
+    private long conversationsStarted;
+
+    @Column(name = "first_replies", nullable = false)
+    private long firstReplies;
+
+    @Column(name = "active_users", nullable = false)
+    private long activeUsers;
+}
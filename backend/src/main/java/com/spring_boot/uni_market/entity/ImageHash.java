@@ -0,0 +1,29 @@
+package com.spring_boot.uni_market.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "image_hash")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageHash {
+
+    @Id
+    @Column(name = "file_name")
+    private String fileName;
+
+    // 64-bit dHash; near-identical pictures differ in only a few bits
+    @Column(nullable = false)
+    private long hash;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,63 @@
+package com.spring_boot.uni_market.entity;
+
+import com.spring_boot.uni_market.enums.DomainEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_pending", columnList = "processed_at, dead_at, event_id"),
+        @Index(name = "idx_outbox_aggregate", columnList = "aggregate_type, aggregate_id, event_id") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private DomainEventType eventType;
+
+    @Column(name = "aggregate_type", nullable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Not retried before this; null until the first failure
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Set when retries are given up on; the event stays unprocessed for inspection or replay
+    @Column(name = "dead_at")
+    private LocalDateTime deadAt;
+
+    // Comma-separated names of the subscribers that have handled the event, kept across failed attempts
+    @Column(name = "delivered_to", length = 1000)
+    private String deliveredTo;
+}
@@ -7,13 +7,16 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "product")
+@Table(name = "product", indexes = @Index(name = "idx_product_deleted_at", columnList = "deleted_at"))
+// Soft-deleted rows are invisible to every entity load and JPQL query; ProductReclaimer purges them later
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -51,9 +54,19 @@ public class Product {
 
     private String location;
 
+    // From the campus place named by location (see CampusPlaceService); null when it names none
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "contact_phone")
     private String contactPhone;
 
+    // Written only by ViewCounterService's batched flush, never by entity updates
+    @Column(name = "view_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0")
+    private long viewCount;
+
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ProductImage> images;
 
@@ -63,4 +76,15 @@ public class Product {
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Listing this one's images nearly matched when it was added (see ImageHashIndex)
+    @Column(name = "duplicate_of")
+    private Long duplicateOf;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
@@ -0,0 +1,30 @@
+package com.spring_boot.uni_market.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Keyed by (product_id, rank_position) so "neighbours of X in order" is one primary-key range scan
+@Entity
+@Table(name = "product_similarity")
+@IdClass(ProductSimilarityId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSimilarity {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "rank_position")
+    private Integer rankPosition;
+
+    @Column(name = "similar_product_id", nullable = false)
+    private Long similarProductId;
+
+    @Column(nullable = false)
+    private double score;
+}
@@ -0,0 +1,15 @@
+package com.spring_boot.uni_market.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSimilarityId implements Serializable {
+    private Long productId;
+    private Integer rankPosition;
+}
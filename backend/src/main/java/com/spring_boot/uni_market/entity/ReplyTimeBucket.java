@@ -0,0 +1,27 @@
+package com.spring_boot.uni_market.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Histogram of time to first reply per day; see AnalyticsService.bucketOf for the bucket boundaries
+@Entity
+@Table(name = "analytics_reply_time")
+@IdClass(ReplyTimeBucketId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplyTimeBucket {
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    private Integer bucket;
+
+    @Column(nullable = false)
+    private long replies;
+}
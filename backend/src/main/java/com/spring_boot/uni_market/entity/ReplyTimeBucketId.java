@@ -0,0 +1,16 @@
+package com.spring_boot.uni_market.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplyTimeBucketId implements Serializable {
+    private LocalDate day;
+    private Integer bucket;
+}
@@ -0,0 +1,30 @@
+package com.spring_boot.uni_market.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "trending_score")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingScore {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // Decayed score as of snapshotAt
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+}
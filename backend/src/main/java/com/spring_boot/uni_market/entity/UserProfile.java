@@ -38,4 +38,8 @@ public class UserProfile {
 
     @Column(name = "avatar_url", length = 1000)
     private String avatarUrl;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
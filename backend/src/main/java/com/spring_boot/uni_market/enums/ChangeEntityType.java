@@ -0,0 +1,7 @@
+package com.spring_boot.uni_market.enums;
+
+public enum ChangeEntityType {
+    PRODUCT,
+    PRODUCT_IMAGE,
+    CATEGORY
+}
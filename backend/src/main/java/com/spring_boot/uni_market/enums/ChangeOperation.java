@@ -0,0 +1,6 @@
+package com.spring_boot.uni_market.enums;
+
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
@@ -0,0 +1,20 @@
+package com.spring_boot.uni_market.enums;
+
+public enum DomainEventType {
+    PRODUCT_CREATED("PRODUCT"),
+    PRODUCT_UPDATED("PRODUCT"),
+    PRODUCT_DELETED("PRODUCT"),
+    MESSAGE_SENT("CONVERSATION"),
+    PROFILE_UPDATED("USER");
+
+    // Events of one aggregate (same type and id) are delivered in the order they were written
+    private final String aggregateType;
+
+    DomainEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
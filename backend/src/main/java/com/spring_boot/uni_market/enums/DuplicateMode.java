@@ -0,0 +1,8 @@
+package com.spring_boot.uni_market.enums;
+
+// What ProductService.addProduct does when a new listing's images nearly match an existing listing's
+public enum DuplicateMode {
+    OFF,
+    FLAG,
+    REJECT
+}
@@ -0,0 +1,79 @@
+package com.spring_boot.uni_market.enums;
+
+import com.spring_boot.uni_market.dto.ProductDTO;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The ProductDTO fields a client can ask for with ?fields=. Besides trimming the response, the requested set
+ * decides which lookups run: seller profile (contactPhone, sellerName), images (imageUrls) and the category
+ * join (categoryName). The other fields come from the product row itself.
+ */
+public enum ProductField {
+    PRODUCT_ID("productId", ProductDTO::getProductId),
+    SELLER_ID("sellerId", ProductDTO::getSellerId),
+    CATEGORY_ID("categoryId", ProductDTO::getCategoryId),
+    TITLE("title", ProductDTO::getTitle),
+    DESCRIPTION("description", ProductDTO::getDescription),
+    PRICE("price", ProductDTO::getPrice),
+    CONDITION("condition", ProductDTO::getCondition),
+    STATUS("status", ProductDTO::getStatus),
+    LOCATION("location", ProductDTO::getLocation),
+    LATITUDE("latitude", ProductDTO::getLatitude),
+    LONGITUDE("longitude", ProductDTO::getLongitude),
+    CONTACT_PHONE("contactPhone", ProductDTO::getContactPhone),
+    SELLER_NAME("sellerName", ProductDTO::getSellerName),
+    CATEGORY_NAME("categoryName", ProductDTO::getCategoryName),
+    IMAGE_URLS("imageUrls", ProductDTO::getImageUrls),
+    CREATED_AT("createdAt", ProductDTO::getCreatedAt),
+    DUPLICATE_OF("duplicateOf", ProductDTO::getDuplicateOf);
+
+    private final String jsonName;
+    private final Function<ProductDTO, Object> getter;
+
+    ProductField(String jsonName, Function<ProductDTO, Object> getter) {
+        this.jsonName = jsonName;
+        this.getter = getter;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    // null or blank means every field; productId is always included so clients can key the result
+    public static Set<ProductField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(ProductField.class);
+        }
+        Set<ProductField> result = EnumSet.of(PRODUCT_ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            result.add(fromJsonName(trimmed));
+        }
+        return result;
+    }
+
+    public static Map<String, Object> project(ProductDTO dto, Set<ProductField> fields) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            result.put(field.jsonName, field.getter.apply(dto));
+        }
+        return result;
+    }
+
+    private static ProductField fromJsonName(String jsonName) {
+        for (ProductField field : values()) {
+            if (field.jsonName.equals(jsonName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product field: " + jsonName);
+    }
+}
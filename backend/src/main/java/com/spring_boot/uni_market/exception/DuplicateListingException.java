@@ -0,0 +1,16 @@
+package com.spring_boot.uni_market.exception;
+
+// A new listing's photos match a live listing's and duplicate detection runs in REJECT mode
+public class DuplicateListingException extends RuntimeException {
+
+    private final Long duplicateOf;
+
+    public DuplicateListingException(Long duplicateOf) {
+        super("This listing looks like a repost of product " + duplicateOf);
+        this.duplicateOf = duplicateOf;
+    }
+
+    public Long getDuplicateOf() {
+        return duplicateOf;
+    }
+}
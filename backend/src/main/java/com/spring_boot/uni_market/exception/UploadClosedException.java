@@ -0,0 +1,9 @@
+package com.spring_boot.uni_market.exception;
+
+// A chunk or completion arrived for an upload that is being completed or has been completed or expired
+public class UploadClosedException extends RuntimeException {
+
+    public UploadClosedException(String uploadId) {
+        super("Upload " + uploadId + " is already completed or expired");
+    }
+}
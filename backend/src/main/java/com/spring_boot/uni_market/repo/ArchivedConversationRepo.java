@@ -0,0 +1,15 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.ArchivedConversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedConversationRepo extends JpaRepository<ArchivedConversation, Long> {
+
+    @Query("SELECT c FROM ArchivedConversation c WHERE c.buyerId = :userId OR c.sellerId = :userId")
+    List<ArchivedConversation> findByUserId(Long userId);
+}
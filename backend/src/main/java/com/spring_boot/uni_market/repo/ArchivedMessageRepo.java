@@ -0,0 +1,20 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.ArchivedMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedMessageRepo extends JpaRepository<ArchivedMessage, Long> {
+
+    List<ArchivedMessage> findByConversationIdOrderBySentAt(Long conversationId);
+
+    // Latest message per conversation, for the archived conversation list
+    @Query("SELECT m FROM ArchivedMessage m WHERE m.conversationId IN :conversationIds AND m.sentAt = "
+            + "(SELECT MAX(l.sentAt) FROM ArchivedMessage l WHERE l.conversationId = m.conversationId)")
+    List<ArchivedMessage> findLatestByConversationIdIn(Collection<Long> conversationIds);
+}
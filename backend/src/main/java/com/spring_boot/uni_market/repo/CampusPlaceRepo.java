@@ -0,0 +1,15 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.CampusPlace;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CampusPlaceRepo extends JpaRepository<CampusPlace, Long> {
+    Optional<CampusPlace> findByNameIgnoreCase(String name);
+
+    List<CampusPlace> findAllByOrderByName();
+}
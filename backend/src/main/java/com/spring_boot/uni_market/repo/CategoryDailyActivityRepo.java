@@ -0,0 +1,24 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.CategoryDailyActivity;
+import com.spring_boot.uni_market.entity.CategoryDailyActivityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CategoryDailyActivityRepo extends JpaRepository<CategoryDailyActivity, CategoryDailyActivityId> {
+
+    List<CategoryDailyActivity> findByDayBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics_category_daily (day, category_id, listings_created, listings_sold) "
+            + "VALUES (:day, :categoryId, :created, :sold) ON DUPLICATE KEY UPDATE "
+            + "listings_created = listings_created + :created, listings_sold = listings_sold + :sold",
+            nativeQuery = true)
+    int addListings(LocalDate day, Long categoryId, int created, int sold);
+}
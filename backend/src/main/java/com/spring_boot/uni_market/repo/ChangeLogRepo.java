@@ -0,0 +1,22 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.ChangeLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepo extends JpaRepository<ChangeLog, Long> {
+
+    @Query("SELECT c FROM ChangeLog c WHERE c.syncSeq > :since ORDER BY c.syncSeq")
+    List<ChangeLog> findSyncedSince(Long since, Pageable pageable);
+
+    @Query("SELECT c FROM ChangeLog c WHERE c.syncSeq IS NULL ORDER BY c.seq")
+    List<ChangeLog> findUnsequenced(Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.syncSeq), 0L) FROM ChangeLog c")
+    Long findLastSyncSeq();
+}
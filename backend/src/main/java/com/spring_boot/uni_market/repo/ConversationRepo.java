@@ -15,6 +15,16 @@ public interface ConversationRepo extends JpaRepository<Conversation, Long> {
 
     Optional<Conversation> findByBuyerAndSellerAndProduct(User buyer, User seller, Product product);
 
-    @Query("SELECT c FROM Conversation c WHERE c.buyer = :user OR c.seller = :user")
-    List<Conversation> findByUser(User user);
+    // OR across buyer_id/seller_id cannot use one index; a UNION lets each branch use its own.
+    // The second branch skips rows the first already returned (a user messaging about their own listing).
+    @Query(value = "SELECT c.* FROM conversation c JOIN product p ON p.product_id = c.product_id "
+            + "WHERE c.buyer_id = :userId AND p.deleted_at IS NULL "
+            + "UNION ALL "
+            + "SELECT c.* FROM conversation c JOIN product p ON p.product_id = c.product_id "
+            + "WHERE c.seller_id = :userId AND c.buyer_id <> :userId AND p.deleted_at IS NULL", nativeQuery = true)
+    List<Conversation> findByUserId(Long userId);
+
+    // Conversations about a deleted listing are hidden until ProductReclaimer removes them
+    @Query("SELECT c FROM Conversation c WHERE c.conversationId = :conversationId AND c.product.deletedAt IS NULL")
+    Optional<Conversation> findActiveById(Long conversationId);
 }
@@ -0,0 +1,50 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.DailyActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyActivityRepo extends JpaRepository<DailyActivity, LocalDate> {
+
+    List<DailyActivity> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+
+    // Single-statement upserts: concurrent subscribers touching the same day never lose an increment
+    @Modifying
+    @Query(value = "INSERT INTO analytics_daily (day, messages_sent, conversations_started, first_replies) "
+            + "VALUES (:day, 1, :started, :firstReplies) ON DUPLICATE KEY UPDATE messages_sent = messages_sent + 1, "
+            + "conversations_started = conversations_started + :started, "
+            + "first_replies = first_replies + :firstReplies", nativeQuery = true)
+    int addMessage(LocalDate day, int started, int firstReplies);
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics_daily (day, active_users) VALUES (:day, 1) "
+            + "ON DUPLICATE KEY UPDATE active_users = active_users + 1", nativeQuery = true)
+    int addActiveUser(LocalDate day);
+
+    // 1 the first time a user is seen on a day, 0 afterwards
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO analytics_active_user (day, user_id) VALUES (:day, :userId)",
+            nativeQuery = true)
+    int markActive(LocalDate day, Long userId);
+
+    // 1 the first time an event is applied, 0 on redelivery
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO analytics_applied_event (event_id, applied_at) VALUES (:eventId, :appliedAt)",
+            nativeQuery = true)
+    int markApplied(Long eventId, LocalDateTime appliedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM analytics_active_user WHERE day < :before", nativeQuery = true)
+    int deleteActiveUsersBefore(LocalDate before);
+
+    @Modifying
+    @Query(value = "DELETE FROM analytics_applied_event WHERE applied_at < :before", nativeQuery = true)
+    int deleteAppliedEventsBefore(LocalDateTime before);
+}
@@ -0,0 +1,51 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.ImageHash;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImageHashRepo extends JpaRepository<ImageHash, String> {
+
+    interface ListingHash {
+        Long getHash();
+
+        String getFileName();
+
+        Long getProductId();
+
+        Long getSellerId();
+    }
+
+    // product_image stores the public URL; the stored file name is its last path segment
+    @Query(value = "SELECT h.hash AS hash, h.file_name AS fileName, i.product_id AS productId, p.seller_id AS sellerId "
+            + "FROM product_image i "
+            + "JOIN product p ON p.product_id = i.product_id "
+            + "JOIN image_hash h ON h.file_name = SUBSTRING_INDEX(i.image_url, '/', -1) "
+            + "WHERE p.deleted_at IS NULL", nativeQuery = true)
+    List<ListingHash> findLiveListingHashes();
+
+    @Query(value = "SELECT h.hash AS hash, h.file_name AS fileName, i.product_id AS productId, p.seller_id AS sellerId "
+            + "FROM product_image i "
+            + "JOIN product p ON p.product_id = i.product_id "
+            + "JOIN image_hash h ON h.file_name = SUBSTRING_INDEX(i.image_url, '/', -1) "
+            + "WHERE i.product_id = :productId AND p.deleted_at IS NULL", nativeQuery = true)
+    List<ListingHash> findListingHashes(Long productId);
+
+    // Listings created since the file was uploaded (the created_at index bounds the scan) that show it
+    @Query(value = "SELECT h.hash AS hash, h.file_name AS fileName, i.product_id AS productId, p.seller_id AS sellerId "
+            + "FROM product p JOIN product_image i ON i.product_id = p.product_id "
+            + "JOIN image_hash h ON h.file_name = SUBSTRING_INDEX(i.image_url, '/', -1) "
+            + "WHERE p.created_at >= :since AND p.deleted_at IS NULL AND h.file_name = :fileName", nativeQuery = true)
+    List<ListingHash> findListingHashesSince(String fileName, LocalDateTime since);
+
+    // Images uploaded before hashing existed
+    @Query(value = "SELECT DISTINCT SUBSTRING_INDEX(i.image_url, '/', -1) FROM product_image i "
+            + "WHERE NOT EXISTS (SELECT 1 FROM image_hash h WHERE h.file_name = SUBSTRING_INDEX(i.image_url, '/', -1))",
+            nativeQuery = true)
+    List<String> findUnhashedFileNames();
+}
@@ -3,11 +3,30 @@ package com.spring_boot.uni_market.repo;
 import com.spring_boot.uni_market.entity.Message;
 import com.spring_boot.uni_market.entity.Conversation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MessageRepo extends JpaRepository<Message, Long> {
     List<Message> findByConversation(Conversation conversation);
+
+    // Several conversations' history in one query, for ChatSearchService's per-conversation indexes
+    @Query("SELECT m FROM Message m WHERE m.conversation.conversationId IN :conversationIds "
+            + "ORDER BY m.conversation.conversationId, m.messageId")
+    List<Message> findByConversationIdIn(Collection<Long> conversationIds);
+
+    // Split by role like ConversationRepo.findByUserId, so each half can use its own conversation index;
+    // conversations about deleted listings are hidden there, so they are not counted here either
+    @Query(value = "SELECT "
+            + "(SELECT COUNT(*) FROM conversation c JOIN product p ON p.product_id = c.product_id "
+            + "JOIN message m ON m.conversation_id = c.conversation_id "
+            + "WHERE c.buyer_id = :userId AND p.deleted_at IS NULL AND m.sender_id <> :userId AND m.is_read = FALSE) + "
+            + "(SELECT COUNT(*) FROM conversation c JOIN product p ON p.product_id = c.product_id "
+            + "JOIN message m ON m.conversation_id = c.conversation_id "
+            + "WHERE c.seller_id = :userId AND c.buyer_id <> :userId AND p.deleted_at IS NULL "
+            + "AND m.sender_id <> :userId AND m.is_read = FALSE)", nativeQuery = true)
+    long countUnreadForUser(Long userId);
 }
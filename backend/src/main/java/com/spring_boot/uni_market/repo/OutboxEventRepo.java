@@ -0,0 +1,53 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepo extends JpaRepository<OutboxEvent, Long> {
+
+    // Due events, except those queued behind an earlier event of the same aggregate that is waiting out its backoff
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.deadAt IS NULL "
+            + "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) "
+            + "AND NOT EXISTS (SELECT w.eventId FROM OutboxEvent w WHERE w.aggregateType = e.aggregateType "
+            + "AND w.aggregateId = e.aggregateId AND w.eventId < e.eventId AND w.processedAt IS NULL "
+            + "AND w.deadAt IS NULL AND w.nextAttemptAt > :now) "
+            + "ORDER BY e.eventId")
+    List<OutboxEvent> findPending(LocalDateTime now, Pageable pageable);
+
+    // Keys are "aggregateType:aggregateId", as OutboxDispatcher groups them
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.deadAt IS NULL "
+            + "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) "
+            + "AND NOT EXISTS (SELECT w.eventId FROM OutboxEvent w WHERE w.aggregateType = e.aggregateType "
+            + "AND w.aggregateId = e.aggregateId AND w.eventId < e.eventId AND w.processedAt IS NULL "
+            + "AND w.deadAt IS NULL AND w.nextAttemptAt > :now) "
+            + "AND CONCAT(e.aggregateType, ':', CAST(e.aggregateId AS String)) NOT IN :blockedAggregates "
+            + "ORDER BY e.eventId")
+    List<OutboxEvent> findPendingExcept(Collection<String> blockedAggregates, LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = :processedAt WHERE e.eventId IN :eventIds")
+    int markProcessed(Collection<Long> eventIds, LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, "
+            + "e.nextAttemptAt = :nextAttemptAt, e.deliveredTo = :deliveredTo WHERE e.eventId = :eventId")
+    int recordFailure(Long eventId, String error, LocalDateTime nextAttemptAt, String deliveredTo);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, e.deadAt = :deadAt, "
+            + "e.deliveredTo = :deliveredTo WHERE e.eventId = :eventId")
+    int markDead(Long eventId, String error, LocalDateTime deadAt, String deliveredTo);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :before")
+    int deleteProcessedBefore(LocalDateTime before);
+}
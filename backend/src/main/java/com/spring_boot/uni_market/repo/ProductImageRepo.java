@@ -3,11 +3,19 @@ package com.spring_boot.uni_market.repo;
 import com.spring_boot.uni_market.entity.ProductImage;
 import com.spring_boot.uni_market.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductImageRepo extends JpaRepository<ProductImage, Long> {
     List<ProductImage> findByProduct(Product product);
+
+    @Query("SELECT i FROM ProductImage i WHERE i.product IN :products ORDER BY i.imageId")
+    List<ProductImage> findByProductIn(Collection<Product> products);
+
+    @Query("SELECT i FROM ProductImage i WHERE i.product IN :products AND i.isPrimary = true")
+    List<ProductImage> findPrimaryByProductIn(Collection<Product> products);
 }
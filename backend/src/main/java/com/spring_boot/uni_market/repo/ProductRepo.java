@@ -2,13 +2,136 @@ package com.spring_boot.uni_market.repo;
 
 import com.spring_boot.uni_market.entity.Product;
 import com.spring_boot.uni_market.entity.User;
+import com.spring_boot.uni_market.enums.ProductCondition;
+import com.spring_boot.uni_market.enums.ProductStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepo extends JpaRepository<Product, Long> {
 
     List<Product> findByCategory_CategoryId(Long categoryId);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.category")
+    List<Product> findAllWithCategory();
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.category.categoryId = :categoryId")
+    List<Product> findByCategoryWithCategory(Long categoryId);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.category ORDER BY p.createdAt DESC, p.productId DESC")
+    List<Product> findLatestWithCategory(Pageable pageable);
+
+    // Images are only ever added or purged, so their count and highest id mark any change to them
+    @Query("SELECT p.version AS productVersion, up.version AS sellerVersion, c.version AS categoryVersion, "
+            + "(SELECT COUNT(i) FROM ProductImage i WHERE i.product = p) AS imageCount, "
+            + "(SELECT COALESCE(MAX(i.imageId), 0L) FROM ProductImage i WHERE i.product = p) AS maxImageId "
+            + "FROM Product p JOIN p.category c LEFT JOIN UserProfile up ON up.userId = p.seller.userId "
+            + "WHERE p.productId = :productId")
+    Optional<ProductVersion> findVersionsById(Long productId);
+
+    @Query("SELECT COUNT(p) AS productCount, COALESCE(MAX(p.productId), 0L) AS maxProductId, "
+            + "COALESCE(SUM(p.version), 0L) AS versionSum, "
+            + "(SELECT COUNT(c) FROM Category c) AS categoryCount, "
+            + "(SELECT COALESCE(SUM(c.version), 0L) FROM Category c) AS categoryVersionSum, "
+            + "(SELECT COUNT(i) FROM ProductImage i) AS imageCount, "
+            + "(SELECT COALESCE(MAX(i.imageId), 0L) FROM ProductImage i) AS maxImageId FROM Product p")
+    CatalogVersion findCatalogVersion();
+
+    @Query("SELECT p.viewCount FROM Product p WHERE p.productId = :productId")
+    Optional<Long> findViewCountById(Long productId);
+
+    @Query("SELECT COALESCE(SUM(p.viewCount), 0L) FROM Product p")
+    Long sumViewCounts();
+
+    @Query("SELECT p FROM ProductSimilarity s, Product p JOIN FETCH p.category "
+            + "WHERE s.productId = :productId AND p.productId = s.similarProductId ORDER BY s.rankPosition")
+    List<Product> findSimilarProducts(Long productId);
+
+    @Query("SELECT p.productId AS productId, p.category.categoryId AS categoryId, p.price AS price, "
+            + "p.title AS title, p.description AS description FROM Product p")
+    List<SimilarityInput> findAllSimilarityInputs();
+
+    @Query("SELECT p.productId AS productId, p.category.categoryId AS categoryId, p.price AS price, "
+            + "p.title AS title, p.description AS description FROM Product p WHERE p.productId IN :productIds")
+    List<SimilarityInput> findSimilarityInputs(Collection<Long> productIds);
+
+    @Query("SELECT p.productId AS productId, p.category.categoryId AS categoryId, p.condition AS condition, "
+            + "p.status AS status, p.price AS price FROM Product p")
+    List<FacetInput> findAllFacetInputs();
+
+    @Query("SELECT p.productId AS productId, p.latitude AS latitude, p.longitude AS longitude FROM Product p "
+            + "WHERE p.status = :status AND p.latitude IS NOT NULL")
+    List<ProductLocation> findLocationsByStatus(ProductStatus status);
+
+    // Listings saved before their location was a known place
+    @Query("SELECT p FROM Product p WHERE p.latitude IS NULL "
+            + "AND TRIM(p.location) IN (SELECT c.name FROM CampusPlace c)")
+    List<Product> findUnlocatedAtKnownPlaces();
+
+    interface ProductVersion {
+        Long getProductVersion();
+
+        Long getSellerVersion();
+
+        Long getCategoryVersion();
+
+        Long getImageCount();
+
+        Long getMaxImageId();
+    }
+
+    interface CatalogVersion {
+        Long getProductCount();
+
+        Long getMaxProductId();
+
+        Long getVersionSum();
+
+        Long getCategoryCount();
+
+        Long getCategoryVersionSum();
+
+        Long getImageCount();
+
+        Long getMaxImageId();
+    }
+
+    interface SimilarityInput {
+        Long getProductId();
+
+        Long getCategoryId();
+
+        BigDecimal getPrice();
+
+        String getTitle();
+
+        String getDescription();
+    }
+
+    interface FacetInput {
+        Long getProductId();
+
+        Long getCategoryId();
+
+        ProductCondition getCondition();
+
+        ProductStatus getStatus();
+
+        BigDecimal getPrice();
+    }
+
+    interface ProductLocation {
+        Long getProductId();
+
+        Double getLatitude();
+
+        Double getLongitude();
+    }
 }
@@ -0,0 +1,16 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.ProductSimilarity;
+import com.spring_boot.uni_market.entity.ProductSimilarityId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductSimilarityRepo extends JpaRepository<ProductSimilarity, ProductSimilarityId> {
+
+    @Modifying
+    @Query("DELETE FROM ProductSimilarity s WHERE s.productId = :productId OR s.similarProductId = :productId")
+    void deleteByProduct(Long productId);
+}
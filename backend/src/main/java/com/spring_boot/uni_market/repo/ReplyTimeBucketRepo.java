@@ -0,0 +1,22 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.ReplyTimeBucket;
+import com.spring_boot.uni_market.entity.ReplyTimeBucketId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ReplyTimeBucketRepo extends JpaRepository<ReplyTimeBucket, ReplyTimeBucketId> {
+
+    List<ReplyTimeBucket> findByDayBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics_reply_time (day, bucket, replies) VALUES (:day, :bucket, 1) "
+            + "ON DUPLICATE KEY UPDATE replies = replies + 1", nativeQuery = true)
+    int addReply(LocalDate day, int bucket);
+}
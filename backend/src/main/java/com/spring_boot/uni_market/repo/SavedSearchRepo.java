@@ -0,0 +1,12 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepo extends JpaRepository<SavedSearch, Long> {
+    List<SavedSearch> findByUser_UserId(Long userId);
+}
@@ -0,0 +1,9 @@
+package com.spring_boot.uni_market.repo;
+
+import com.spring_boot.uni_market.entity.TrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingScoreRepo extends JpaRepository<TrendingScore, Long> {
+}
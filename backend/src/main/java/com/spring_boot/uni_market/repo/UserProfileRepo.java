@@ -3,10 +3,17 @@ package com.spring_boot.uni_market.repo;
 import com.spring_boot.uni_market.entity.UserProfile;
 import com.spring_boot.uni_market.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface UserProfileRepo extends JpaRepository<UserProfile, Long> {
     Optional<UserProfile> findByUser(User user);
+
+    @Query("SELECT up.version FROM UserProfile up WHERE up.userId = :userId")
+    Optional<Long> findVersionByUserId(Long userId);
+
+    @Query("SELECT COALESCE(SUM(up.version), 0L) FROM UserProfile up")
+    Long sumVersions();
 }
@@ -0,0 +1,161 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.AnalyticsDTO;
+import com.spring_boot.uni_market.dto.AnalyticsDayDTO;
+import com.spring_boot.uni_market.dto.CategoryActivityDTO;
+import com.spring_boot.uni_market.entity.CategoryDailyActivity;
+import com.spring_boot.uni_market.entity.DailyActivity;
+import com.spring_boot.uni_market.entity.ReplyTimeBucket;
+import com.spring_boot.uni_market.repo.CategoryDailyActivityRepo;
+import com.spring_boot.uni_market.repo.CategoryRepo;
+import com.spring_boot.uni_market.repo.DailyActivityRepo;
+import com.spring_boot.uni_market.repo.ReplyTimeBucketRepo;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Admin analytics answered from the daily rollup tables that AnalyticsSubscriber maintains. A request reads at
+ * most one row per day in the range (per category and per reply-time bucket for those tables), so its cost is
+ * bounded by the range, not by how many products or messages have ever been written.
+ */
+@Slf4j
+@Service
+@Transactional
+public class AnalyticsService {
+
+    // Four buckets per doubling of the reply time
+    private static final int BUCKETS_PER_DOUBLING = 4;
+
+    @Autowired
+    private DailyActivityRepo dailyActivityRepo;
+    @Autowired
+    private CategoryDailyActivityRepo categoryDailyActivityRepo;
+    @Autowired
+    private ReplyTimeBucketRepo replyTimeBucketRepo;
+    @Autowired
+    private CategoryRepo categoryRepo;
+
+    @Value("${app.analytics.default-range-days:30}")
+    private int defaultRangeDays;
+    @Value("${app.analytics.max-range-days:366}")
+    private int maxRangeDays;
+    @Value("${app.analytics.active-user-retention-days:3}")
+    private int activeUserRetentionDays;
+    @Value("${app.analytics.applied-event-retention-hours:72}")
+    private long appliedEventRetentionHours;
+
+    // Both bounds inclusive; defaults to the last defaultRangeDays days up to today
+    public AnalyticsDTO getAnalytics(LocalDate from, LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(defaultRangeDays - 1) : from;
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxRangeDays) {
+            throw new IllegalArgumentException("Range is limited to " + maxRangeDays + " days");
+        }
+
+        // Every day of the range is reported, including days without any activity
+        Map<LocalDate, AnalyticsDayDTO> days = new LinkedHashMap<>();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            AnalyticsDayDTO dto = new AnalyticsDayDTO();
+            dto.setDay(day);
+            days.put(day, dto);
+        }
+        for (DailyActivity activity : dailyActivityRepo.findByDayBetweenOrderByDay(start, end)) {
+            AnalyticsDayDTO dto = days.get(activity.getDay());
+            dto.setMessagesSent(activity.getMessagesSent());
+            dto.setConversationsStarted(activity.getConversationsStarted());
+            dto.setFirstReplies(activity.getFirstReplies());
+            dto.setActiveUsers(activity.getActiveUsers());
+        }
+
+        Map<Long, CategoryActivityDTO> categories = new HashMap<>();
+        for (CategoryDailyActivity activity : categoryDailyActivityRepo.findByDayBetween(start, end)) {
+            AnalyticsDayDTO day = days.get(activity.getDay());
+            day.setListingsCreated(day.getListingsCreated() + activity.getListingsCreated());
+            day.setListingsSold(day.getListingsSold() + activity.getListingsSold());
+            CategoryActivityDTO category = categories.computeIfAbsent(activity.getCategoryId(), id -> {
+                CategoryActivityDTO dto = new CategoryActivityDTO();
+                dto.setCategoryId(id);
+                return dto;
+            });
+            category.setListingsCreated(category.getListingsCreated() + activity.getListingsCreated());
+            category.setListingsSold(category.getListingsSold() + activity.getListingsSold());
+        }
+        categoryRepo.findAllById(categories.keySet())
+                .forEach(category -> categories.get(category.getCategoryId()).setCategoryName(category.getName()));
+
+        Map<LocalDate, NavigableMap<Integer, Long>> dailyReplyTimes = new HashMap<>();
+        NavigableMap<Integer, Long> replyTimes = new TreeMap<>();
+        for (ReplyTimeBucket bucket : replyTimeBucketRepo.findByDayBetween(start, end)) {
+            dailyReplyTimes.computeIfAbsent(bucket.getDay(), day -> new TreeMap<>())
+                    .merge(bucket.getBucket(), bucket.getReplies(), Long::sum);
+            replyTimes.merge(bucket.getBucket(), bucket.getReplies(), Long::sum);
+        }
+        dailyReplyTimes.forEach((day, histogram) -> days.get(day).setMedianFirstReplySeconds(median(histogram)));
+
+        AnalyticsDTO analytics = new AnalyticsDTO();
+        analytics.setFrom(start);
+        analytics.setTo(end);
+        analytics.setDays(new ArrayList<>(days.values()));
+        analytics.setListingsCreated(days.values().stream().mapToLong(AnalyticsDayDTO::getListingsCreated).sum());
+        analytics.setListingsSold(days.values().stream().mapToLong(AnalyticsDayDTO::getListingsSold).sum());
+        analytics.setMessagesSent(days.values().stream().mapToLong(AnalyticsDayDTO::getMessagesSent).sum());
+        analytics.setConversationsStarted(days.values().stream()
+                .mapToLong(AnalyticsDayDTO::getConversationsStarted).sum());
+        analytics.setMedianFirstReplySeconds(median(replyTimes));
+        analytics.setCategories(categories.values().stream()
+                .sorted(Comparator.comparingLong(CategoryActivityDTO::getListingsCreated).reversed()).toList());
+        return analytics;
+    }
+
+    // The dedupe rows only matter while an event can still be redelivered or a day can still receive events
+    @Scheduled(fixedDelayString = "${app.analytics.purge-interval-ms:3600000}")
+    public void purgeDedupeRows() {
+        int users = dailyActivityRepo.deleteActiveUsersBefore(LocalDate.now().minusDays(activeUserRetentionDays));
+        int events = dailyActivityRepo.deleteAppliedEventsBefore(
+                LocalDateTime.now().minusHours(appliedEventRetentionHours));
+        if (users + events > 0) {
+            log.info("Analytics purge: {} active-user rows, {} applied-event rows removed", users, events);
+        }
+    }
+
+    // Must match the bucket expression the V5__analytics_rollups backfill used: FLOOR(4 * LOG2(seconds + 1))
+    public static int bucketOf(long seconds) {
+        return (int) Math.floor(BUCKETS_PER_DOUBLING * Math.log(Math.max(seconds, 0) + 1) / Math.log(2));
+    }
+
+    // Geometric middle of the bucket holding the median; exact to within half a bucket (about 10%)
+    private static Long median(NavigableMap<Integer, Long> histogram) {
+        long total = histogram.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return null;
+        }
+        long rank = (total + 1) / 2;
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : histogram.entrySet()) {
+            seen += bucket.getValue();
+            if (seen >= rank) {
+                return Math.round(Math.pow(2, (bucket.getKey() + 0.5) / BUCKETS_PER_DOUBLING) - 1);
+            }
+        }
+        return null;
+    }
+}
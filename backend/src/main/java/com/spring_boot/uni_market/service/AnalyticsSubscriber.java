@@ -0,0 +1,74 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.DomainEvent;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.repo.CategoryDailyActivityRepo;
+import com.spring_boot.uni_market.repo.DailyActivityRepo;
+import com.spring_boot.uni_market.repo.ReplyTimeBucketRepo;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Folds each write into the analytics rollups for the day it happened. The applied-event row is written in the
+ * same transaction as the increments, so a redelivered event is skipped instead of counted twice.
+ */
+@Service
+@Transactional
+public class AnalyticsSubscriber implements DomainEventSubscriber {
+
+    @Autowired
+    private DailyActivityRepo dailyActivityRepo;
+    @Autowired
+    private CategoryDailyActivityRepo categoryDailyActivityRepo;
+    @Autowired
+    private ReplyTimeBucketRepo replyTimeBucketRepo;
+
+    @Override
+    public Set<DomainEventType> getEventTypes() {
+        return EnumSet.of(DomainEventType.PRODUCT_CREATED, DomainEventType.PRODUCT_UPDATED,
+                DomainEventType.MESSAGE_SENT);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (dailyActivityRepo.markApplied(event.getEventId(), LocalDateTime.now()) == 0) {
+            return;
+        }
+        LocalDate day = event.getOccurredAt().toLocalDate();
+        switch (event.getType()) {
+            case PRODUCT_CREATED -> {
+                categoryDailyActivityRepo.addListings(day, event.getLong("categoryId"), 1, 0);
+                markActive(day, event.getLong("sellerId"));
+            }
+            case PRODUCT_UPDATED -> {
+                if (event.getFlag("sold")) {
+                    categoryDailyActivityRepo.addListings(day, event.getLong("categoryId"), 0, 1);
+                }
+                markActive(day, event.getLong("sellerId"));
+            }
+            case MESSAGE_SENT -> {
+                Long firstReplySeconds = event.getLong("firstReplySeconds");
+                dailyActivityRepo.addMessage(day, event.getFlag("newConversation") ? 1 : 0,
+                        firstReplySeconds == null ? 0 : 1);
+                if (firstReplySeconds != null) {
+                    replyTimeBucketRepo.addReply(day, AnalyticsService.bucketOf(firstReplySeconds));
+                }
+                markActive(day, event.getLong("senderId"));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void markActive(LocalDate day, Long userId) {
+        if (userId != null && dailyActivityRepo.markActive(day, userId) == 1) {
+            dailyActivityRepo.addActiveUser(day);
+        }
+    }
+}
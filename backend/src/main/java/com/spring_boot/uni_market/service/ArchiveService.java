@@ -0,0 +1,265 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.ArchiveReportDTO;
+import com.spring_boot.uni_market.dto.ConversationDTO;
+import com.spring_boot.uni_market.dto.MessageDTO;
+import com.spring_boot.uni_market.dto.UserSummaryDTO;
+import com.spring_boot.uni_market.entity.ArchivedConversation;
+import com.spring_boot.uni_market.entity.ArchivedMessage;
+import com.spring_boot.uni_market.enums.ChangeEntityType;
+import com.spring_boot.uni_market.enums.ChangeOperation;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.repo.ArchivedConversationRepo;
+import com.spring_boot.uni_market.repo.ArchivedMessageRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Hot/cold tiering. Sold or hidden listings past a certain age, and conversations nobody has written in for
+ * a long time, are moved (INSERT ... SELECT, then DELETE) into the *_archive tables, one bounded batch per
+ * transaction with a pause in between so the job never competes with request traffic for long. Archived
+ * conversations stay readable through ChatService, which falls back to the archive on a miss.
+ *
+ * Plain archive tables rather than MySQL partitioning: partitioned InnoDB tables cannot have foreign keys,
+ * and product, conversation and message all rely on them.
+ */
+@Slf4j
+@Service
+public class ArchiveService {
+
+    private static final List<String> HOT_TABLES = List.of("product", "conversation", "message");
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ChangeLogService changeLogService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private ArchivedConversationRepo archivedConversationRepo;
+    @Autowired
+    private ArchivedMessageRepo archivedMessageRepo;
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+
+    @Value("${app.archive.product-age-days:90}")
+    private long productAgeDays;
+    @Value("${app.archive.conversation-idle-days:180}")
+    private long conversationIdleDays;
+    @Value("${app.archive.batch-size:100}")
+    private int batchSize;
+    @Value("${app.archive.max-batches:50}")
+    private int maxBatches;
+    @Value("${app.archive.pause-ms:200}")
+    private long pauseMs;
+
+    private volatile ArchiveReportDTO lastReport;
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveNightly() {
+        runArchive();
+    }
+
+    public synchronized ArchiveReportDTO runArchive() {
+        long start = System.currentTimeMillis();
+        ArchiveReportDTO report = new ArchiveReportDTO();
+        report.setStartedAt(LocalDateTime.now());
+        Map<String, Long> scanMs = new LinkedHashMap<>();
+        report.setRowsBefore(measureHotTables(scanMs));
+        report.setScanMsBefore(scanMs);
+
+        MapSqlParameterSource productParams = new MapSqlParameterSource()
+                .addValue("cutoff", LocalDateTime.now().minusDays(productAgeDays))
+                .addValue("limit", batchSize);
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> productIds = jdbcTemplate.queryForList(
+                    "SELECT product_id FROM product WHERE status IN ('SOLD', 'HIDDEN') AND deleted_at IS NULL "
+                            + "AND created_at < :cutoff ORDER BY product_id LIMIT :limit",
+                    productParams, Long.class);
+            if (productIds.isEmpty()) {
+                break;
+            }
+            long[] moved = transactionTemplate.execute(status -> archiveProducts(productIds, LocalDateTime.now()));
+            report.setProductsArchived(report.getProductsArchived() + productIds.size());
+            report.setConversationsArchived(report.getConversationsArchived() + moved[0]);
+            report.setMessagesArchived(report.getMessagesArchived() + moved[1]);
+            if (!pause()) {
+                break;
+            }
+        }
+
+        MapSqlParameterSource conversationParams = new MapSqlParameterSource()
+                .addValue("cutoff", LocalDateTime.now().minusDays(conversationIdleDays))
+                .addValue("limit", batchSize);
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> conversationIds = jdbcTemplate.queryForList(
+                    "SELECT c.conversation_id FROM conversation c JOIN product p ON p.product_id = c.product_id "
+                            + "WHERE p.deleted_at IS NULL AND c.created_at < :cutoff AND NOT EXISTS "
+                            + "(SELECT 1 FROM message m WHERE m.conversation_id = c.conversation_id AND m.sent_at >= :cutoff) "
+                            + "ORDER BY c.conversation_id LIMIT :limit",
+                    conversationParams, Long.class);
+            if (conversationIds.isEmpty()) {
+                break;
+            }
+            long messages = transactionTemplate.execute(status -> archiveConversations(conversationIds, LocalDateTime.now()));
+            report.setConversationsArchived(report.getConversationsArchived() + conversationIds.size());
+            report.setMessagesArchived(report.getMessagesArchived() + messages);
+            if (!pause()) {
+                break;
+            }
+        }
+
+        scanMs = new LinkedHashMap<>();
+        report.setRowsAfter(measureHotTables(scanMs));
+        report.setScanMsAfter(scanMs);
+        report.setDurationMs(System.currentTimeMillis() - start);
+        lastReport = report;
+        log.info("Archive run: {} products, {} conversations, {} messages in {} ms", report.getProductsArchived(),
+                report.getConversationsArchived(), report.getMessagesArchived(), report.getDurationMs());
+        return report;
+    }
+
+    public ArchiveReportDTO getLastReport() {
+        return lastReport;
+    }
+
+    // Empty if the conversation was never archived
+    public Optional<List<MessageDTO>> getArchivedMessages(Long conversationId) {
+        if (!archivedConversationRepo.existsById(conversationId)) {
+            return Optional.empty();
+        }
+        return Optional.of(archivedMessageRepo.findByConversationIdOrderBySentAt(conversationId).stream().map(m -> {
+            MessageDTO dto = new MessageDTO();
+            dto.setMessageId(m.getMessageId());
+            dto.setSenderId(m.getSenderId());
+            dto.setContent(m.getContent());
+            dto.setSentAt(m.getSentAt());
+            dto.setRead(m.isRead());
+            return dto;
+        }).collect(Collectors.toList()));
+    }
+
+    public List<ConversationDTO> getArchivedConversations(Long userId) {
+        List<ArchivedConversation> conversations = archivedConversationRepo.findByUserId(userId);
+        if (conversations.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ArchivedMessage> lastMessages = new HashMap<>();
+        archivedMessageRepo.findLatestByConversationIdIn(conversations.stream()
+                .map(ArchivedConversation::getConversationId).toList())
+                .forEach(message -> lastMessages.put(message.getConversationId(), message));
+        Map<Long, UserSummaryDTO> otherUsers = userSummaryCache.getAll(conversations.stream()
+                .map(c -> c.getBuyerId().equals(userId) ? c.getSellerId() : c.getBuyerId())
+                .collect(Collectors.toSet()));
+
+        return conversations.stream().map(c -> {
+            ConversationDTO dto = new ConversationDTO();
+            dto.setConversationId(c.getConversationId());
+            Long otherUserId = c.getBuyerId().equals(userId) ? c.getSellerId() : c.getBuyerId();
+            dto.setOtherUserId(otherUserId);
+            UserSummaryDTO otherUser = otherUsers.get(otherUserId);
+            dto.setOtherUserName(otherUser != null ? otherUser.getFullName() : "Student #" + otherUserId);
+            dto.setProductId(c.getProductId());
+            dto.setProductTitle(c.getProductTitle());
+            ArchivedMessage last = lastMessages.get(c.getConversationId());
+            if (last != null) {
+                dto.setLastMessage(last.getContent());
+                dto.setLastMessageTime(last.getSentAt());
+            }
+            return dto;
+        }).sorted((c1, c2) -> {
+            if (c1.getLastMessageTime() == null)
+                return 1;
+            if (c2.getLastMessageTime() == null)
+                return -1;
+            return c2.getLastMessageTime().compareTo(c1.getLastMessageTime());
+        }).collect(Collectors.toList());
+    }
+
+    // Returns {conversations, messages} moved along with the products
+    private long[] archiveProducts(List<Long> productIds, LocalDateTime archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", productIds).addValue("archivedAt", archivedAt);
+        List<Long> conversationIds = jdbcTemplate.queryForList(
+                "SELECT conversation_id FROM conversation WHERE product_id IN (:ids)", params, Long.class);
+        long messages = conversationIds.isEmpty() ? 0 : archiveConversations(conversationIds, archivedAt);
+
+        // To sync clients and in-memory indexes an archived listing is simply gone
+        jdbcTemplate.queryForList("SELECT image_id FROM product_image WHERE product_id IN (:ids)", params, Long.class)
+                .forEach(imageId -> changeLogService.record(ChangeEntityType.PRODUCT_IMAGE, imageId, ChangeOperation.DELETE));
+        jdbcTemplate.queryForList("SELECT product_id, seller_id, category_id FROM product WHERE product_id IN (:ids)", params)
+                .forEach(row -> {
+                    Long productId = ((Number) row.get("product_id")).longValue();
+                    Map<String, Object> payload = new HashMap<>();
+                    payload.put("sellerId", ((Number) row.get("seller_id")).longValue());
+                    payload.put("categoryId", ((Number) row.get("category_id")).longValue());
+                    payload.put("archived", true);
+                    changeLogService.record(ChangeEntityType.PRODUCT, productId, ChangeOperation.DELETE);
+                    outboxService.publish(DomainEventType.PRODUCT_DELETED, productId, payload);
+                });
+
+        jdbcTemplate.update("INSERT INTO product_archive (product_id, seller_id, category_id, title, description, price, "
+                + "condition_status, status, location, contact_phone, view_count, image_urls, created_at, archived_at) "
+                + "SELECT p.product_id, p.seller_id, p.category_id, p.title, p.description, p.price, p.condition_status, "
+                + "p.status, p.location, p.contact_phone, p.view_count, "
+                + "(SELECT GROUP_CONCAT(i.image_url ORDER BY i.is_primary DESC, i.image_id SEPARATOR '\\n') "
+                + "FROM product_image i WHERE i.product_id = p.product_id), p.created_at, :archivedAt "
+                + "FROM product p WHERE p.product_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM product_similarity WHERE product_id IN (:ids) OR similar_product_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM trending_score WHERE product_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM product_image WHERE product_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM product WHERE product_id IN (:ids)", params);
+        return new long[] { conversationIds.size(), messages };
+    }
+
+    private long archiveConversations(List<Long> conversationIds, LocalDateTime archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", conversationIds).addValue("archivedAt", archivedAt);
+        int messages = jdbcTemplate.update("INSERT INTO message_archive (message_id, conversation_id, sender_id, content, "
+                + "sent_at, is_read) SELECT message_id, conversation_id, sender_id, content, sent_at, is_read "
+                + "FROM message WHERE conversation_id IN (:ids)", params);
+        jdbcTemplate.update("INSERT INTO conversation_archive (conversation_id, buyer_id, seller_id, product_id, "
+                + "product_title, created_at, archived_at) SELECT c.conversation_id, c.buyer_id, c.seller_id, c.product_id, "
+                + "p.title, c.created_at, :archivedAt FROM conversation c JOIN product p ON p.product_id = c.product_id "
+                + "WHERE c.conversation_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM message WHERE conversation_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM conversation WHERE conversation_id IN (:ids)", params);
+        return messages;
+    }
+
+    // Row count plus how long counting took: InnoDB has to walk an index, so it tracks hot-table scan cost
+    private Map<String, Long> measureHotTables(Map<String, Long> scanMs) {
+        Map<String, Long> rows = new LinkedHashMap<>();
+        for (String table : HOT_TABLES) {
+            long start = System.nanoTime();
+            Long count = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            scanMs.put(table, (System.nanoTime() - start) / 1_000_000);
+            rows.put(table, count);
+        }
+        return rows;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
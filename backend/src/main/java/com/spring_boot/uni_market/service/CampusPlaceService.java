@@ -0,0 +1,33 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.entity.CampusPlace;
+import com.spring_boot.uni_market.entity.Product;
+import com.spring_boot.uni_market.repo.CampusPlaceRepo;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The campus gazetteer: maps the free-text location of a listing to coordinates when it names a known place.
+ * Names match case-insensitively after trimming; anything else leaves the listing without coordinates.
+ */
+@Service
+@Transactional
+public class CampusPlaceService {
+
+    @Autowired
+    private CampusPlaceRepo campusPlaceRepo;
+
+    public List<CampusPlace> getAllPlaces() {
+        return campusPlaceRepo.findAllByOrderByName();
+    }
+
+    public void locate(Product product) {
+        CampusPlace place = product.getLocation() == null || product.getLocation().isBlank() ? null
+                : campusPlaceRepo.findByNameIgnoreCase(product.getLocation().trim()).orElse(null);
+        product.setLatitude(place == null ? null : place.getLatitude());
+        product.setLongitude(place == null ? null : place.getLongitude());
+    }
+}
@@ -0,0 +1,65 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.DomainEvent;
+import com.spring_boot.uni_market.entity.Product;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.repo.ProductRepo;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the derived catalog structures (facet bitmaps, nearby grid, similar listings, saved-search alerts) in
+ * step with product writes, after the write has committed instead of inside it.
+ */
+@Service
+@Transactional
+public class CatalogIndexSubscriber implements DomainEventSubscriber {
+
+    @Autowired
+    private ProductRepo productRepo;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private FacetIndexService facetIndexService;
+    @Autowired
+    private SimilarityService similarityService;
+    @Autowired
+    private SavedSearchService savedSearchService;
+    @Autowired
+    private NearbyIndexService nearbyIndexService;
+
+    @Override
+    public Set<DomainEventType> getEventTypes() {
+        return EnumSet.of(DomainEventType.PRODUCT_CREATED, DomainEventType.PRODUCT_UPDATED,
+                DomainEventType.PRODUCT_DELETED);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        Long productId = event.getAggregateId();
+        if (event.getType() == DomainEventType.PRODUCT_DELETED) {
+            similarityService.onProductDeleted(productId);
+            facetIndexService.remove(productId);
+            nearbyIndexService.remove(productId);
+            return;
+        }
+
+        // Always index the current row rather than the event's snapshot; a product deleted since then is
+        // handled by its PRODUCT_DELETED event, which comes later for the same aggregate
+        Optional<Product> product = productRepo.findById(productId);
+        if (product.isEmpty()) {
+            return;
+        }
+        facetIndexService.index(product.get());
+        nearbyIndexService.index(product.get());
+        similarityService.requestRefresh(productId);
+        if (event.getType() == DomainEventType.PRODUCT_CREATED) {
+            savedSearchService.matchAsync(productService.getListing(product.get()));
+        }
+    }
+}
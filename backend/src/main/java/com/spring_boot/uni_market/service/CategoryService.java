@@ -2,7 +2,10 @@ package com.spring_boot.uni_market.service;
 
 import com.spring_boot.uni_market.dto.CategoryDTO;
 import com.spring_boot.uni_market.entity.Category;
+import com.spring_boot.uni_market.enums.ChangeEntityType;
+import com.spring_boot.uni_market.enums.ChangeOperation;
 import com.spring_boot.uni_market.repo.CategoryRepo;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -14,7 +17,10 @@ public class CategoryService {
 
     @Autowired
     private CategoryRepo categoryRepo;
+    @Autowired
+    private ChangeLogService changeLogService;
 
+    @Transactional
     public String createCategory(CategoryDTO dto) {
         if (categoryRepo.existsByName(dto.getName())) {
             throw new RuntimeException("Category already exists");
@@ -27,10 +33,33 @@ public class CategoryService {
             category.setParent(parent);
         }
         categoryRepo.save(category);
+        changeLogService.record(ChangeEntityType.CATEGORY, category.getCategoryId(), ChangeOperation.UPSERT);
         return "Category Created Successfully";
     }
 
+    // First-start defaults; logged like any other category so sync clients receive them
+    @Transactional
+    public void seedCategories(List<String> names) {
+        for (String name : names) {
+            Category category = new Category();
+            category.setName(name);
+            categoryRepo.save(category);
+            changeLogService.record(ChangeEntityType.CATEGORY, category.getCategoryId(), ChangeOperation.UPSERT);
+        }
+    }
+
     public List<Category> getAllCategories() {
         return categoryRepo.findAll();
     }
+
+    // Flat DTOs that need no open session to serialize (the parent id is read off the lazy proxy)
+    public List<CategoryDTO> getAllCategoryDTOs() {
+        return categoryRepo.findAll().stream().map(category -> {
+            CategoryDTO dto = new CategoryDTO();
+            dto.setCategoryId(category.getCategoryId());
+            dto.setName(category.getName());
+            dto.setParentId(category.getParent() == null ? null : category.getParent().getCategoryId());
+            return dto;
+        }).toList();
+    }
 }
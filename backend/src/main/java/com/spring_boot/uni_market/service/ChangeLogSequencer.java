@@ -0,0 +1,46 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.entity.ChangeLog;
+import com.spring_boot.uni_market.repo.ChangeLogRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Numbers change-log rows in the order they became visible. change_seq is handed out at insert, so a
+ * transaction that commits late leaves a lower change_seq behind rows a client may already have synced past.
+ * This job only ever sees committed rows and gives each the next sync_seq in a single transaction per batch, so
+ * sync_seq values are visible as a gap-free prefix and a row committing late simply gets a later one. Two
+ * instances racing for the same numbers collide on the unique key; the loser rolls back and retries next poll.
+ */
+@Service
+public class ChangeLogSequencer {
+
+    @Autowired
+    private ChangeLogRepo changeLogRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.sync.sequence-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.sync.sequence-interval-ms:200}")
+    public void assignSequence() {
+        Integer assigned;
+        do {
+            assigned = transactionTemplate.execute(status -> {
+                List<ChangeLog> rows = changeLogRepo.findUnsequenced(PageRequest.of(0, batchSize));
+                long next = rows.isEmpty() ? 0 : changeLogRepo.findLastSyncSeq();
+                for (ChangeLog row : rows) {
+                    row.setSyncSeq(++next);
+                }
+                return rows.size();
+            });
+        } while (assigned != null && assigned == batchSize);
+    }
+}
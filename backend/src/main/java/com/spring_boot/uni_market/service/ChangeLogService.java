@@ -0,0 +1,26 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.entity.ChangeLog;
+import com.spring_boot.uni_market.enums.ChangeEntityType;
+import com.spring_boot.uni_market.enums.ChangeOperation;
+import com.spring_boot.uni_market.repo.ChangeLogRepo;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+@Transactional
+public class ChangeLogService {
+
+    @Autowired
+    private ChangeLogRepo changeLogRepo;
+
+    // Joins the caller's transaction, so a change is logged if and only if the write commits
+    public void record(ChangeEntityType entityType, Long entityId, ChangeOperation operation) {
+        ChangeLog change = new ChangeLog();
+        change.setEntityType(entityType);
+        change.setEntityId(entityId);
+        change.setOperation(operation);
+        changeLogRepo.save(change);
+    }
+}
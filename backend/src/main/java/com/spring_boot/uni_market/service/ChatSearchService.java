@@ -0,0 +1,287 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.ChatSearchHitDTO;
+import com.spring_boot.uni_market.dto.ChatSearchResultDTO;
+import com.spring_boot.uni_market.dto.DomainEvent;
+import com.spring_boot.uni_market.entity.Conversation;
+import com.spring_boot.uni_market.entity.Message;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.repo.ConversationRepo;
+import com.spring_boot.uni_market.repo.MessageRepo;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Word search over chat history. Postings are partitioned per conversation: each conversation gets its own
+ * small inverted index (sorted term dictionary to message positions), built on first search from one query
+ * and then extended by MESSAGE_SENT events. A search only ever opens the caller's own conversations, so its
+ * cost follows the caller's history rather than the size of the message table, and access control is the
+ * same buyer/seller lookup the conversation list uses.
+ */
+@Service
+@Transactional
+public class ChatSearchService implements DomainEventSubscriber {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int SNIPPET_LEAD = 40;
+
+    @Autowired
+    private ConversationRepo conversationRepo;
+    @Autowired
+    private MessageRepo messageRepo;
+
+    @Value("${app.chat-search.max-conversations:5000}")
+    private int maxConversations;
+
+    private final Map<Long, ConversationIndex> indexes = new ConcurrentHashMap<>();
+    // Logical clock for last use; a counter rather than the wall clock so two searches in one millisecond still order
+    private final AtomicLong useClock = new AtomicLong();
+
+    // Every query word must occur in the message, as a word or the start of one ("calc" finds "calculus")
+    public ChatSearchResultDTO search(Long userId, String query, int page, int size) {
+        List<String> terms = tokenize(query == null ? "" : query).stream().map(Token::term).distinct().toList();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Query must contain at least one letter or digit");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Map<Long, Conversation> conversations = conversationRepo.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Conversation::getConversationId, Function.identity()));
+        List<Hit> hits = new ArrayList<>();
+        indexesFor(conversations.keySet()).forEach(index -> index.search(terms, hits));
+        hits.sort(Comparator.comparing(Hit::sentAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Hit::messageId, Comparator.reverseOrder()));
+
+        ChatSearchResultDTO result = new ChatSearchResultDTO();
+        result.setQuery(query);
+        result.setPage(page);
+        result.setSize(size);
+        result.setTotal(hits.size());
+        // Only the requested page is tokenized again for highlighting
+        result.setHits(hits.stream().skip((long) page * size).limit(size)
+                .map(hit -> toDTO(hit, conversations.get(hit.conversationId()), terms)).toList());
+        return result;
+    }
+
+    @Override
+    public Set<DomainEventType> getEventTypes() {
+        return EnumSet.of(DomainEventType.MESSAGE_SENT);
+    }
+
+    // Only conversations someone has already searched are indexed; the rest are built on demand
+    @Override
+    public void onEvent(DomainEvent event) {
+        ConversationIndex index = indexes.get(event.getAggregateId());
+        Long messageId = event.getLong("messageId");
+        if (index != null && messageId != null) {
+            messageRepo.findById(messageId).ifPresent(index::add);
+        }
+    }
+
+    private List<ConversationIndex> indexesFor(Set<Long> conversationIds) {
+        List<ConversationIndex> result = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long conversationId : conversationIds) {
+            ConversationIndex index = indexes.get(conversationId);
+            if (index == null) {
+                missing.add(conversationId);
+            } else {
+                index.lastUsed = useClock.incrementAndGet();
+                result.add(index);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        // New indexes are published locked and filled afterwards: a MESSAGE_SENT or a concurrent search for
+        // the same conversation waits for the load instead of missing it or loading it twice
+        Map<Long, ConversationIndex> building = new HashMap<>();
+        for (Long conversationId : missing) {
+            ConversationIndex fresh = new ConversationIndex(conversationId);
+            fresh.lastUsed = useClock.incrementAndGet();
+            fresh.lock.lock();
+            ConversationIndex existing = indexes.putIfAbsent(conversationId, fresh);
+            if (existing == null) {
+                building.put(conversationId, fresh);
+                result.add(fresh);
+            } else {
+                fresh.lock.unlock();
+                existing.lastUsed = fresh.lastUsed;
+                result.add(existing);
+            }
+        }
+        try {
+            if (!building.isEmpty()) {
+                for (Message message : messageRepo.findByConversationIdIn(building.keySet())) {
+                    building.get(message.getConversation().getConversationId()).addLocked(message);
+                }
+            }
+        } finally {
+            building.values().forEach(index -> index.lock.unlock());
+        }
+        evictIfFull();
+        return result;
+    }
+
+    // Least recently searched first, so an active user's indexes outlive those of users who searched once; an
+    // evicted conversation is simply rebuilt on its next search. Only runs after a miss, which already paid a query
+    private void evictIfFull() {
+        int excess = indexes.size() - maxConversations;
+        if (excess <= 0) {
+            return;
+        }
+        // Sorted on a snapshot of the use times: concurrent searches keep moving them
+        List<LastUse> byLastUse = indexes.values().stream()
+                .map(index -> new LastUse(index, index.lastUsed))
+                .sorted(Comparator.comparingLong(LastUse::at))
+                .limit(excess)
+                .toList();
+        for (LastUse entry : byLastUse) {
+            indexes.remove(entry.index().conversationId, entry.index());
+        }
+    }
+
+    private ChatSearchHitDTO toDTO(Hit hit, Conversation conversation, List<String> terms) {
+        ChatSearchHitDTO dto = new ChatSearchHitDTO();
+        dto.setConversationId(hit.conversationId());
+        dto.setProductId(conversation.getProduct().getProductId());
+        dto.setProductTitle(conversation.getProduct().getTitle());
+        dto.setMessageId(hit.messageId());
+        dto.setSenderId(hit.senderId());
+        dto.setSentAt(hit.sentAt());
+
+        String content = hit.content();
+        List<Token> matched = tokenize(content).stream()
+                .filter(token -> terms.stream().anyMatch(token.term()::startsWith)).toList();
+        int start = matched.isEmpty() ? 0 : Math.max(0, matched.get(0).start() - SNIPPET_LEAD);
+        int end = Math.min(content.length(), start + SNIPPET_LENGTH);
+        String prefix = start > 0 ? "…" : "";
+        dto.setSnippet(prefix + content.substring(start, end) + (end < content.length() ? "…" : ""));
+        List<int[]> highlights = new ArrayList<>();
+        for (Token token : matched) {
+            if (token.start() >= start && token.end() <= end) {
+                int offset = prefix.length() - start;
+                highlights.add(new int[] { token.start() + offset, token.end() + offset });
+            }
+        }
+        dto.setHighlights(highlights);
+        return dto;
+    }
+
+    // Maximal runs of letters and digits, lower-cased; offsets point into the original text
+    private static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && !Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            int start = i;
+            while (i < text.length() && Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            if (i > start) {
+                tokens.add(new Token(text.substring(start, i).toLowerCase(Locale.ROOT), start, i));
+            }
+        }
+        return tokens;
+    }
+
+    private record Token(String term, int start, int end) {
+    }
+
+    private record Hit(Long conversationId, Long messageId, Long senderId, LocalDateTime sentAt, String content) {
+    }
+
+    private record LastUse(ConversationIndex index, long at) {
+    }
+
+    private static final class ConversationIndex {
+        private final Long conversationId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long lastUsed;
+        private final List<Hit> messages = new ArrayList<>();
+        private final Set<Long> messageIds = new HashSet<>();
+        // Term -> positions in messages; sorted so a prefix is one subMap range
+        private final NavigableMap<String, BitSet> postings = new TreeMap<>();
+
+        private ConversationIndex(Long conversationId) {
+            this.conversationId = conversationId;
+        }
+
+        void add(Message message) {
+            lock.lock();
+            try {
+                addLocked(message);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // A redelivered event, or a message both loaded and announced, is only indexed once
+        private void addLocked(Message message) {
+            if (!messageIds.add(message.getMessageId())) {
+                return;
+            }
+            int position = messages.size();
+            messages.add(new Hit(conversationId, message.getMessageId(), message.getSender().getUserId(),
+                    message.getSentAt(), message.getContent()));
+            for (Token token : tokenize(message.getContent())) {
+                postings.computeIfAbsent(token.term(), term -> new BitSet()).set(position);
+            }
+        }
+
+        void search(List<String> terms, List<Hit> hits) {
+            lock.lock();
+            try {
+                searchLocked(terms, hits);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void searchLocked(List<String> terms, List<Hit> hits) {
+            BitSet result = null;
+            for (String term : terms) {
+                BitSet matches = new BitSet();
+                // Every term that starts with the query word; the upper bound is the next possible prefix
+                postings.subMap(term, true, term + Character.MAX_VALUE, false).values().forEach(matches::or);
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.and(matches);
+                }
+                if (result.isEmpty()) {
+                    return;
+                }
+            }
+            for (int position = result.nextSetBit(0); position >= 0; position = result.nextSetBit(position + 1)) {
+                hits.add(messages.get(position));
+            }
+        }
+    }
+}
@@ -2,22 +2,27 @@ package com.spring_boot.uni_market.service;
 
 import com.spring_boot.uni_market.dto.ConversationDTO;
 import com.spring_boot.uni_market.dto.MessageDTO;
+import com.spring_boot.uni_market.dto.UserSummaryDTO;
 import com.spring_boot.uni_market.entity.Conversation;
 import com.spring_boot.uni_market.entity.Message;
 import com.spring_boot.uni_market.entity.Product;
 import com.spring_boot.uni_market.entity.User;
+import com.spring_boot.uni_market.enums.DomainEventType;
 import com.spring_boot.uni_market.repo.ConversationRepo;
 import com.spring_boot.uni_market.repo.MessageRepo;
 import com.spring_boot.uni_market.repo.ProductRepo;
-import com.spring_boot.uni_market.repo.UserProfileRepo;
 import com.spring_boot.uni_market.repo.UserRepo;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,7 +38,11 @@ public class ChatService {
     @Autowired
     private ProductRepo productRepo;
     @Autowired
-    private UserProfileRepo userProfileRepo;
+    private UserSummaryCache userSummaryCache;
+    @Autowired
+    private ArchiveService archiveService;
+    @Autowired
+    private OutboxService outboxService;
 
     public String sendMessage(MessageDTO dto) {
         User sender = userRepo.findById(dto.getSenderId())
@@ -43,16 +52,15 @@ public class ChatService {
         Product product = productRepo.findById(dto.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
-        Conversation conversation = conversationRepo.findByBuyerAndSellerAndProduct(sender, receiver, product)
-                .or(() -> conversationRepo.findByBuyerAndSellerAndProduct(receiver, sender, product))
-                .orElseGet(() -> {
-                    Conversation newConv = new Conversation();
-                    newConv.setBuyer(sender); // Assuming sender initiates interaction usually
-                    newConv.setSeller(receiver);
-                    newConv.setProduct(product);
-                    return conversationRepo.save(newConv);
-                });
-
+        Optional<Conversation> existing = conversationRepo.findByBuyerAndSellerAndProduct(sender, receiver, product)
+                .or(() -> conversationRepo.findByBuyerAndSellerAndProduct(receiver, sender, product));
+        Conversation conversation = existing.orElseGet(() -> {
+            Conversation newConv = new Conversation();
+            newConv.setBuyer(sender); // Assuming sender initiates interaction usually
+            newConv.setSeller(receiver);
+            newConv.setProduct(product);
+            return conversationRepo.save(newConv);
+        });
         Message message = new Message();
         message.setConversation(conversation);
         message.setSender(sender);
@@ -61,12 +69,37 @@ public class ChatService {
 
         messageRepo.save(message);
 
+        // The conversation was opened by its buyer, so the seller's first message is the first reply
+        boolean firstReply = existing.isPresent() && conversation.getFirstReplyAt() == null
+                && !conversation.getBuyer().getUserId().equals(sender.getUserId());
+        if (firstReply) {
+            conversation.setFirstReplyAt(message.getSentAt());
+            conversationRepo.save(conversation);
+        }
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("messageId", message.getMessageId());
+        payload.put("senderId", sender.getUserId());
+        payload.put("receiverId", receiver.getUserId());
+        payload.put("productId", product.getProductId());
+        payload.put("newConversation", existing.isEmpty());
+        if (firstReply && conversation.getCreatedAt() != null) {
+            payload.put("firstReplySeconds",
+                    Duration.between(conversation.getCreatedAt(), conversation.getFirstReplyAt()).toSeconds());
+        }
+        outboxService.publish(DomainEventType.MESSAGE_SENT, conversation.getConversationId(), payload);
+
         return "Message Sent";
     }
 
     public List<MessageDTO> getMessages(Long conversationId) {
-        Conversation conversation = conversationRepo.findById(conversationId)
-                .orElseThrow(() -> new RuntimeException("Conversation not found"));
+        Optional<Conversation> active = conversationRepo.findActiveById(conversationId);
+        if (active.isEmpty()) {
+            // Read-through: long-idle conversations live in the archive tables
+            return archiveService.getArchivedMessages(conversationId)
+                    .orElseThrow(() -> new RuntimeException("Conversation not found"));
+        }
+        Conversation conversation = active.get();
 
         return messageRepo.findByConversation(conversation).stream().map(m -> {
             MessageDTO dto = new MessageDTO();
@@ -79,11 +112,24 @@ public class ChatService {
         }).collect(Collectors.toList());
     }
 
+    // Messages from the other party not yet read, across the user's conversations
+    public long getUnreadCount(Long userId) {
+        return messageRepo.countUnreadForUser(userId);
+    }
+
+    public List<ConversationDTO> getArchivedConversationsForUser(Long userId) {
+        userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        return archiveService.getArchivedConversations(userId);
+    }
+
     public List<ConversationDTO> getConversationsForUser(Long userId) {
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<Conversation> conversations = conversationRepo.findByUser(user);
+        List<Conversation> conversations = conversationRepo.findByUserId(user.getUserId());
+        Map<Long, UserSummaryDTO> otherUsers = userSummaryCache.getAll(conversations.stream()
+                .map(c -> c.getBuyer().getUserId().equals(userId) ? c.getSeller().getUserId() : c.getBuyer().getUserId())
+                .collect(Collectors.toSet()));
 
         return conversations.stream().map(c -> {
             ConversationDTO dto = new ConversationDTO();
@@ -93,9 +139,9 @@ public class ChatService {
             dto.setOtherUserId(otherUser.getUserId());
 
             // Fix: Use UserProfile full name instead of email
-            String otherUserName = userProfileRepo.findByUser(otherUser)
-                    .map(profile -> profile.getFullName())
-                    .orElse("Student #" + otherUser.getUserId());
+            UserSummaryDTO otherProfile = otherUsers.get(otherUser.getUserId());
+            String otherUserName = otherProfile != null ? otherProfile.getFullName()
+                    : "Student #" + otherUser.getUserId();
             dto.setOtherUserName(otherUserName);
 
             dto.setProductId(c.getProduct().getProductId());
@@ -0,0 +1,285 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.UploadInitDTO;
+import com.spring_boot.uni_market.dto.UploadSessionDTO;
+import com.spring_boot.uni_market.exception.UploadClosedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Resumable uploads: initiate, PUT chunks by index (in any order, in parallel), complete. Each chunk is
+ * checksummed and written with a positional FileChannel write straight into the destination file, which
+ * only gets its public name on completion (a rename, not a copy). Chunk writes share a session's lock;
+ * completion and expiry take it exclusively, so the channel is never closed under a write and a session
+ * is closed exactly once. Requests that lose that race or come after it get an UploadClosedException.
+ */
+@Slf4j
+@Service
+public class ChunkedUploadService {
+
+    private static final String PART_SUFFIX = ".part";
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_CHUNK_SIZE = 5 * 1024 * 1024;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Value("${app.upload.max-file-size-bytes:10485760}")
+    private long maxFileSize;
+    @Value("${app.upload.default-chunk-size-bytes:1048576}")
+    private int defaultChunkSize;
+    @Value("${app.upload.session-ttl-minutes:30}")
+    private long sessionTtlMinutes;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public UploadSessionDTO initiate(UploadInitDTO dto) {
+        if (dto.getFileName() == null || dto.getFileName().isBlank()) {
+            throw new IllegalArgumentException("File name is required");
+        }
+        if (dto.getTotalSize() == null || dto.getTotalSize() <= 0 || dto.getTotalSize() > maxFileSize) {
+            throw new IllegalArgumentException("File size must be between 1 and " + maxFileSize + " bytes");
+        }
+        int chunkSize = dto.getChunkSize() == null ? defaultChunkSize
+                : Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, dto.getChunkSize()));
+
+        String uploadId = UUID.randomUUID().toString();
+        String fileName = uploadId + "_" + sanitize(dto.getFileName());
+        Path partFile = imageService.getStorageLocation().resolve(fileName + PART_SUFFIX);
+        try {
+            FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            UploadSession session = new UploadSession(uploadId, fileName, dto.getTotalSize(), chunkSize, partFile, channel);
+            sessions.put(uploadId, session);
+            return session.toDTO();
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not start upload for " + dto.getFileName(), ex);
+        }
+    }
+
+    public UploadSessionDTO getStatus(String uploadId) {
+        return session(uploadId).toDTO();
+    }
+
+    public UploadSessionDTO acceptChunk(String uploadId, int index, String checksum, InputStream body) {
+        UploadSession session = session(uploadId);
+        if (index < 0 || index >= session.totalChunks) {
+            throw new IllegalArgumentException("Chunk index out of range: " + index);
+        }
+        if (checksum == null || checksum.isBlank()) {
+            throw new IllegalArgumentException("Chunk checksum header is required");
+        }
+        long offset = (long) index * session.chunkSize;
+        int expectedLength = (int) Math.min(session.chunkSize, session.totalSize - offset);
+
+        try {
+            ByteBuffer buffer = readExactly(body, expectedLength);
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate());
+            // Compared as numbers: a checksum with leading zeros is the same value with or without them
+            if (parseChecksum(checksum) != crc.getValue()) {
+                throw new IllegalArgumentException("Checksum mismatch for chunk " + index);
+            }
+            // Only the write holds the lock; a slow client's body is read before it
+            session.lock.readLock().lock();
+            try {
+                if (session.closed) {
+                    throw new UploadClosedException(uploadId);
+                }
+                // Positional writes do not move the channel position, so chunks can land concurrently
+                while (buffer.hasRemaining()) {
+                    session.channel.write(buffer, offset + buffer.position());
+                }
+                session.markReceived(index);
+            } finally {
+                session.lock.readLock().unlock();
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not write chunk " + index + " of upload " + uploadId, ex);
+        }
+        return session.toDTO();
+    }
+
+    public String complete(String uploadId) {
+        UploadSession session = session(uploadId);
+        // Waits for chunk writes in flight; a second complete() then finds the session closed
+        session.lock.writeLock().lock();
+        try {
+            if (session.closed) {
+                throw new UploadClosedException(uploadId);
+            }
+            if (!session.isComplete()) {
+                throw new IllegalArgumentException("Upload is missing chunks: "
+                        + session.toDTO().getReceivedChunks().size() + " of " + session.totalChunks + " received");
+            }
+            // Kept until the sweep so late retries get a conflict, not "not found"
+            session.closed = true;
+            session.lastActivity = Instant.now();
+            try {
+                session.channel.force(true);
+                session.channel.close();
+                Files.move(session.partFile, session.partFile.resolveSibling(session.fileName),
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                discard(session);
+                throw new RuntimeException("Could not finish upload " + uploadId, ex);
+            }
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+        imageService.hashInBackground(session.fileName);
+        return session.fileName;
+    }
+
+    @Scheduled(fixedDelayString = "${app.upload.sweep-interval-ms:60000}")
+    public void expireAbandoned() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(sessionTtlMinutes));
+        sessions.values().removeIf(session -> {
+            // A session busy with writes or completion is not abandoned; look again on the next sweep
+            if (session.lastActivity.isAfter(cutoff) || !session.lock.writeLock().tryLock()) {
+                return false;
+            }
+            try {
+                session.closed = true;
+                discard(session);
+            } finally {
+                session.lock.writeLock().unlock();
+            }
+            return true;
+        });
+
+        // Part files left behind by a restart have no session any more
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(imageService.getStorageLocation(), "*" + PART_SUFFIX)) {
+            for (Path part : parts) {
+                String uploadId = part.getFileName().toString().split("_", 2)[0];
+                if (!sessions.containsKey(uploadId) && Files.getLastModifiedTime(part).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(part);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not sweep abandoned uploads", ex);
+        }
+    }
+
+    @PreDestroy
+    public void closeOpenUploads() {
+        sessions.values().forEach(session -> {
+            session.lock.writeLock().lock();
+            try {
+                session.closed = true;
+                session.channel.close();
+            } catch (IOException ignored) {
+                // Part file stays on disk and is swept once it expires
+            } finally {
+                session.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private UploadSession session(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            throw new IllegalArgumentException("Upload not found or expired: " + uploadId);
+        }
+        return session;
+    }
+
+    private void discard(UploadSession session) {
+        try {
+            session.channel.close();
+            Files.deleteIfExists(session.partFile);
+        } catch (IOException ex) {
+            log.warn("Could not discard upload {}", session.uploadId, ex);
+        }
+    }
+
+    private long parseChecksum(String checksum) {
+        try {
+            return Long.parseUnsignedLong(checksum.trim(), 16);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Chunk checksum must be hexadecimal: " + checksum);
+        }
+    }
+
+    private ByteBuffer readExactly(InputStream body, int length) throws IOException {
+        byte[] bytes = body.readNBytes(length);
+        if (bytes.length != length || body.read() != -1) {
+            throw new IllegalArgumentException("Chunk must be exactly " + length + " bytes");
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private String sanitize(String fileName) {
+        String name = Paths.get(fileName).getFileName().toString();
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static final class UploadSession {
+        private final String uploadId;
+        private final String fileName;
+        private final long totalSize;
+        private final int chunkSize;
+        private final int totalChunks;
+        private final Path partFile;
+        private final FileChannel channel;
+        private final BitSet received;
+        // Shared by chunk writes, exclusive for completion and expiry; closed is only read or written under it
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private boolean closed;
+        private volatile Instant lastActivity = Instant.now();
+
+        private UploadSession(String uploadId, String fileName, long totalSize, int chunkSize, Path partFile,
+                FileChannel channel) {
+            this.uploadId = uploadId;
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.partFile = partFile;
+            this.channel = channel;
+            this.received = new BitSet(totalChunks);
+        }
+
+        synchronized void markReceived(int index) {
+            received.set(index);
+            lastActivity = Instant.now();
+        }
+
+        synchronized boolean isComplete() {
+            return received.cardinality() == totalChunks;
+        }
+
+        synchronized UploadSessionDTO toDTO() {
+            UploadSessionDTO dto = new UploadSessionDTO();
+            dto.setUploadId(uploadId);
+            dto.setFileName(fileName);
+            dto.setTotalSize(totalSize);
+            dto.setChunkSize(chunkSize);
+            dto.setTotalChunks(totalChunks);
+            dto.setReceivedChunks(received.stream().boxed().toList());
+            return dto;
+        }
+    }
+}
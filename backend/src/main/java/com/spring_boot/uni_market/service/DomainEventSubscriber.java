@@ -0,0 +1,17 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.DomainEvent;
+import com.spring_boot.uni_market.enums.DomainEventType;
+
+import java.util.Set;
+
+/**
+ * In-process consumer of outbox events. Delivery is at-least-once, so handlers must tolerate seeing an event
+ * again; a handler that throws stops delivery for that aggregate until the event is retried.
+ */
+public interface DomainEventSubscriber {
+
+    Set<DomainEventType> getEventTypes();
+
+    void onEvent(DomainEvent event);
+}
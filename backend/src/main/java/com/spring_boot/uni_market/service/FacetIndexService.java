@@ -0,0 +1,201 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.FacetCountsDTO;
+import com.spring_boot.uni_market.entity.Product;
+import com.spring_boot.uni_market.enums.ProductCondition;
+import com.spring_boot.uni_market.enums.ProductStatus;
+import com.spring_boot.uni_market.repo.ProductRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One bitmap over the product id space per facet value. Product ids come from an identity column and are
+ * dense, so plain BitSets stay compact; a facet count is an AND of a few bitmaps plus a popcount.
+ */
+@Slf4j
+@Service
+public class FacetIndexService {
+
+    // Upper bounds (exclusive) of the price buckets; the last bucket is open-ended
+    private static final long[] PRICE_EDGES = { 500, 1_000, 2_500, 5_000, 10_000, 25_000 };
+    private static final String[] PRICE_LABELS = { "0-500", "500-1000", "1000-2500", "2500-5000", "5000-10000",
+            "10000-25000", "25000+" };
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet all = new BitSet();
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final Map<ProductCondition, BitSet> byCondition = new EnumMap<>(ProductCondition.class);
+    private final Map<ProductStatus, BitSet> byStatus = new EnumMap<>(ProductStatus.class);
+    private final BitSet[] byPrice = new BitSet[PRICE_LABELS.length];
+    // Current facet values per product, needed to clear the old bits on update
+    private final Map<Integer, Doc> docs = new HashMap<>();
+
+    public FacetIndexService() {
+        for (int i = 0; i < byPrice.length; i++) {
+            byPrice[i] = new BitSet();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            all.clear();
+            byCategory.clear();
+            byCondition.clear();
+            byStatus.clear();
+            docs.clear();
+            for (BitSet bucket : byPrice) {
+                bucket.clear();
+            }
+            productRepo.findAllFacetInputs().forEach(input -> add(new Doc(input.getProductId().intValue(),
+                    input.getCategoryId(), input.getCondition(), input.getStatus(), priceBucket(input.getPrice()))));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Facet index built for {} products", docs.size());
+    }
+
+    public void index(Product product) {
+        Doc doc = new Doc(product.getProductId().intValue(), product.getCategory().getCategoryId(),
+                product.getCondition(), product.getStatus(), priceBucket(product.getPrice()));
+        lock.writeLock().lock();
+        try {
+            remove(doc.id());
+            add(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            remove(productId.intValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public FacetCountsDTO getFacets(Long categoryId, ProductCondition condition, ProductStatus status,
+            String priceBucket) {
+        Integer priceIndex = priceBucket == null ? null : priceIndex(priceBucket);
+        lock.readLock().lock();
+        try {
+            BitSet categoryFilter = categoryId == null ? null : byCategory.getOrDefault(categoryId, new BitSet());
+            BitSet conditionFilter = condition == null ? null : byCondition.getOrDefault(condition, new BitSet());
+            BitSet statusFilter = status == null ? null : byStatus.getOrDefault(status, new BitSet());
+            BitSet priceFilter = priceIndex == null ? null : byPrice[priceIndex];
+
+            FacetCountsDTO dto = new FacetCountsDTO();
+            dto.setTotal(intersect(categoryFilter, conditionFilter, statusFilter, priceFilter).cardinality());
+
+            BitSet withoutCategory = intersect(null, conditionFilter, statusFilter, priceFilter);
+            Map<Long, Long> categories = new TreeMap<>();
+            byCategory.forEach((id, bits) -> categories.put(id, countAnd(withoutCategory, bits)));
+            dto.setCategories(categories);
+
+            BitSet withoutCondition = intersect(categoryFilter, null, statusFilter, priceFilter);
+            Map<String, Long> conditions = new LinkedHashMap<>();
+            for (ProductCondition value : ProductCondition.values()) {
+                conditions.put(value.name(), countAnd(withoutCondition, byCondition.get(value)));
+            }
+            dto.setConditions(conditions);
+
+            BitSet withoutStatus = intersect(categoryFilter, conditionFilter, null, priceFilter);
+            Map<String, Long> statuses = new LinkedHashMap<>();
+            for (ProductStatus value : ProductStatus.values()) {
+                statuses.put(value.name(), countAnd(withoutStatus, byStatus.get(value)));
+            }
+            dto.setStatuses(statuses);
+
+            BitSet withoutPrice = intersect(categoryFilter, conditionFilter, statusFilter, null);
+            Map<String, Long> prices = new LinkedHashMap<>();
+            for (int i = 0; i < PRICE_LABELS.length; i++) {
+                prices.put(PRICE_LABELS[i], countAnd(withoutPrice, byPrice[i]));
+            }
+            dto.setPriceBuckets(prices);
+            return dto;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Doc doc) {
+        docs.put(doc.id(), doc);
+        all.set(doc.id());
+        byCategory.computeIfAbsent(doc.categoryId(), id -> new BitSet()).set(doc.id());
+        byCondition.computeIfAbsent(doc.condition(), value -> new BitSet()).set(doc.id());
+        byStatus.computeIfAbsent(doc.status(), value -> new BitSet()).set(doc.id());
+        byPrice[doc.priceBucket()].set(doc.id());
+    }
+
+    private void remove(int id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        all.clear(id);
+        byCategory.get(doc.categoryId()).clear(id);
+        byCondition.get(doc.condition()).clear(id);
+        byStatus.get(doc.status()).clear(id);
+        byPrice[doc.priceBucket()].clear(id);
+    }
+
+    private BitSet intersect(BitSet... filters) {
+        BitSet result = (BitSet) all.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private long countAnd(BitSet base, BitSet facet) {
+        if (facet == null) {
+            return 0;
+        }
+        BitSet result = (BitSet) base.clone();
+        result.and(facet);
+        return result.cardinality();
+    }
+
+    private int priceBucket(BigDecimal price) {
+        long value = price == null ? 0 : price.longValue();
+        for (int i = 0; i < PRICE_EDGES.length; i++) {
+            if (value < PRICE_EDGES[i]) {
+                return i;
+            }
+        }
+        return PRICE_EDGES.length;
+    }
+
+    private int priceIndex(String label) {
+        for (int i = 0; i < PRICE_LABELS.length; i++) {
+            if (PRICE_LABELS[i].equals(label)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown priceBucket '" + label + "'; valid buckets are "
+                + String.join(", ", PRICE_LABELS));
+    }
+
+    private record Doc(int id, Long categoryId, ProductCondition condition, ProductStatus status, int priceBucket) {
+    }
+}
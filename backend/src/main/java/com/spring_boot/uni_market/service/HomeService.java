@@ -0,0 +1,122 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.config.BulkheadInterceptor;
+import com.spring_boot.uni_market.dto.HomeDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * The home screen's independent reads in one round trip. Each branch is forked onto its own virtual thread
+ * and joined against its own deadline, so the response takes as long as the slowest branch rather than the
+ * sum of them. A branch that fails or runs past its deadline is cancelled and reported in failedBranches;
+ * the other sections are still returned.
+ */
+@Slf4j
+@Service
+public class HomeService {
+
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private TrendingService trendingService;
+    @Autowired
+    private ChatService chatService;
+
+    @Value("${app.home.latest-limit:20}")
+    private int latestLimit;
+    @Value("${app.home.categories-timeout-ms:500}")
+    private long categoriesTimeoutMs;
+    @Value("${app.home.latest-timeout-ms:800}")
+    private long latestTimeoutMs;
+    @Value("${app.home.trending-timeout-ms:200}")
+    private long trendingTimeoutMs;
+    @Value("${app.home.unread-timeout-ms:500}")
+    private long unreadTimeoutMs;
+
+    private final ExecutorService branches = Executors.newVirtualThreadPerTaskExecutor();
+
+    // userId is optional; without it the unread branch is not forked
+    public HomeDTO getHome(Long userId) {
+        long start = System.nanoTime();
+        HomeDTO home = new HomeDTO();
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+
+        List<Branch<?>> forked = new ArrayList<>();
+        forked.add(fork("categories", categoryService::getAllCategoryDTOs, categoriesTimeoutMs,
+                home::setCategories, start, timings));
+        forked.add(fork("latest", () -> productService.getLatestProductSummaries(latestLimit), latestTimeoutMs,
+                home::setLatest, start, timings));
+        forked.add(fork("trending", () -> trendingService.getTrending(null), trendingTimeoutMs,
+                home::setTrending, start, timings));
+        if (userId != null) {
+            forked.add(fork("unread", () -> chatService.getUnreadCount(userId), unreadTimeoutMs,
+                    home::setUnreadCount, start, timings));
+        }
+
+        Map<String, String> failures = new TreeMap<>();
+        for (Branch<?> branch : forked) {
+            branch.join(failures);
+        }
+        home.setFailedBranches(failures);
+        home.setBranchTimingsMs(new TreeMap<>(timings));
+        home.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return home;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        branches.shutdownNow();
+    }
+
+    private <T> Branch<T> fork(String name, Callable<T> task, long timeoutMs, Consumer<T> target, long start,
+            Map<String, Long> timings) {
+        // Branch connections count against the request's bulkhead, not the background share
+        Future<T> future = branches.submit(BulkheadInterceptor.inCurrentBulkhead(() -> {
+            try {
+                return task.call();
+            } finally {
+                timings.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }));
+        return new Branch<>(name, future, timeoutMs, start + TimeUnit.MILLISECONDS.toNanos(timeoutMs), target);
+    }
+
+    private record Branch<T>(String name, Future<T> future, long timeoutMs, long deadline, Consumer<T> target) {
+
+        // Branches run concurrently, so joining them one after another still waits at most until the last deadline
+        void join(Map<String, String> failures) {
+            try {
+                target.accept(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException ex) {
+                future.cancel(true);
+                failures.put(name, "Timed out after " + timeoutMs + " ms");
+            } catch (ExecutionException ex) {
+                log.error("Home branch {} failed", name, ex.getCause());
+                failures.put(name, "Failed");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                failures.put(name, "Interrupted");
+            }
+        }
+    }
+}
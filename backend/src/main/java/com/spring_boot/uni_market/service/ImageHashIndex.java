@@ -0,0 +1,159 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.DomainEvent;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.repo.ImageHashRepo;
+import com.spring_boot.uni_market.utils.BkTree;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Near-duplicate lookup over the images of live listings: a BK-tree of their perceptual hashes, searched
+ * within a small Hamming radius. Listings enter on PRODUCT_CREATED with the hashes ready by then; a photo still
+ * being hashed joins its listing when ImageService stores its hash. Listings leave on PRODUCT_DELETED; removal
+ * leaves a tombstone node behind, and the tree is rebuilt clean from image_hash on every start.
+ */
+@Slf4j
+@Service
+public class ImageHashIndex implements DomainEventSubscriber {
+
+    @Autowired
+    private ImageHashRepo imageHashRepo;
+    @Autowired
+    private ImageService imageService;
+
+    @Value("${app.duplicate-detection.max-distance:4}")
+    private int maxDistance;
+    @Value("${app.duplicate-detection.same-seller-only:true}")
+    private boolean sameSellerOnly;
+    @Value("${app.duplicate-detection.hash-wait-ms:300}")
+    private long hashWaitMs;
+
+    private record Listing(Long productId, Long sellerId) {
+    }
+
+    private final BkTree<Listing> tree = new BkTree<>();
+    // Product id -> stored file name -> tree node
+    private final Map<Long, Map<String, Integer>> nodesByProduct = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Off the startup path: until it finishes, reposts of older listings simply go undetected
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofVirtual().name("image-hash-warm-start").start(() -> {
+            try {
+                load();
+            } catch (RuntimeException ex) {
+                log.error("Image hash warm start failed", ex);
+            }
+        });
+    }
+
+    // The closest live listing whose images nearly match any of these, or null. Images still being hashed
+    // are waited for up to hashWaitMs in total, however many there are; images that cannot be hashed (or
+    // are still hashing once that is spent) are skipped.
+    public Long findDuplicate(Long sellerId, Collection<String> imageUrls) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(hashWaitMs);
+        Long closest = null;
+        int closestDistance = Integer.MAX_VALUE;
+        for (String imageUrl : imageUrls) {
+            long waitMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            Long hash = imageService.getHash(imageUrl, waitMs);
+            if (hash == null) {
+                continue;
+            }
+            List<BkTree.Match<Listing>> matches;
+            lock.readLock().lock();
+            try {
+                matches = tree.search(hash, maxDistance);
+            } finally {
+                lock.readLock().unlock();
+            }
+            for (BkTree.Match<Listing> match : matches) {
+                if (sameSellerOnly && !match.value().sellerId().equals(sellerId)) {
+                    continue;
+                }
+                if (match.distance() < closestDistance) {
+                    closest = match.value().productId();
+                    closestDistance = match.distance();
+                }
+            }
+        }
+        return closest;
+    }
+
+    @Override
+    public Set<DomainEventType> getEventTypes() {
+        return EnumSet.of(DomainEventType.PRODUCT_CREATED, DomainEventType.PRODUCT_DELETED);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event.getType() == DomainEventType.PRODUCT_CREATED) {
+            add(imageHashRepo.findListingHashes(event.getAggregateId()));
+        } else {
+            remove(event.getAggregateId());
+        }
+    }
+
+    // Called by ImageService once a background hash is stored: listings created while it was queued were indexed
+    // without it. Only listings created since the upload can show the file.
+    public void onHashStored(String fileName, LocalDateTime uploadedAt) {
+        add(imageHashRepo.findListingHashesSince(fileName, uploadedAt.minusMinutes(1)));
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        // Images uploaded before hashing existed are hashed once, here rather than on the upload worker
+        List<String> unhashed = imageHashRepo.findUnhashedFileNames();
+        unhashed.forEach(imageService::hashStoredFile);
+        List<ImageHashRepo.ListingHash> hashes = imageHashRepo.findLiveListingHashes();
+        add(hashes);
+        log.info("Image hash index: {} images ({} newly hashed) in {} ms", hashes.size(), unhashed.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Merged per image: redelivered events, the warm start and late hashes all overlap, and each image of a
+    // listing enters the tree once
+    private void add(List<ImageHashRepo.ListingHash> hashes) {
+        lock.writeLock().lock();
+        try {
+            for (ImageHashRepo.ListingHash hash : hashes) {
+                Map<String, Integer> nodes = nodesByProduct.computeIfAbsent(hash.getProductId(), id -> new HashMap<>());
+                if (!nodes.containsKey(hash.getFileName())) {
+                    nodes.put(hash.getFileName(),
+                            tree.add(hash.getHash(), new Listing(hash.getProductId(), hash.getSellerId())));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Map<String, Integer> nodes = nodesByProduct.remove(productId);
+            if (nodes != null) {
+                nodes.values().forEach(tree::remove);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -1,21 +1,56 @@
 package com.spring_boot.uni_market.service;
 
+import com.spring_boot.uni_market.entity.ImageHash;
+import com.spring_boot.uni_market.repo.ImageHashRepo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+@Slf4j
 @Service
 public class ImageService {
 
+    // dHash: 9x8 luminance grid, one bit per horizontally adjacent pair
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+
+    @Autowired
+    private ImageHashRepo imageHashRepo;
+    // Looked up on first use: ImageHashIndex itself depends on this service
+    @Autowired
+    private ObjectProvider<ImageHashIndex> imageHashIndex;
+
     private final Path fileStorageLocation;
 
+    // Decoding a photo takes tens of milliseconds, so uploads return first and hashing follows on this thread
+    private final ExecutorService hashWorker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "image-hash");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, CompletableFuture<Long>> pendingHashes = new ConcurrentHashMap<>();
+
     public ImageService() {
         this.fileStorageLocation = Paths.get("uploads").toAbsolutePath().normalize();
         try {
@@ -25,15 +60,134 @@ public class ImageService {
         }
     }
 
+    public Path getStorageLocation() {
+        return fileStorageLocation;
+    }
+
+    // Accepts a stored file name or its public /uploads/ URL; anything outside the upload directory is ignored
+    public boolean deleteStoredFile(String imageUrl) {
+        String fileName = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        Path target = this.fileStorageLocation.resolve(fileName).normalize();
+        if (fileName.isEmpty() || !target.getParent().equals(this.fileStorageLocation)) {
+            return false;
+        }
+        try {
+            boolean deleted = Files.deleteIfExists(target);
+            imageHashRepo.deleteById(fileName);
+            return deleted;
+        } catch (IOException ex) {
+            log.warn("Could not delete stored file {}", fileName, ex);
+            return false;
+        }
+    }
+
     public String storeFile(MultipartFile file) {
         try {
             String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
             Path targetLocation = this.fileStorageLocation.resolve(fileName);
             Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            hashInBackground(fileName);
             return fileName;
         } catch (IOException ex) {
             throw new RuntimeException("Could not store file " + file.getOriginalFilename() + ". Please try again!",
                     ex);
         }
     }
+
+    public void hashInBackground(String fileName) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        pendingHashes.put(fileName, future);
+        LocalDateTime uploadedAt = LocalDateTime.now();
+        hashWorker.execute(() -> {
+            try {
+                Long hash = hashStoredFile(fileName);
+                future.complete(hash);
+                if (hash != null) {
+                    imageHashIndex.getObject().onHashStored(fileName, uploadedAt);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Could not index the hash of {}", fileName, ex);
+            } finally {
+                pendingHashes.remove(fileName, future);
+            }
+        });
+    }
+
+    // The hash of a stored image, waiting up to waitMs if it is still being computed; null if there is none
+    public Long getHash(String imageUrl, long waitMs) {
+        String fileName = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        CompletableFuture<Long> pending = pendingHashes.get(fileName);
+        if (pending != null) {
+            try {
+                return pending.get(waitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException ex) {
+                return null;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return imageHashRepo.findById(fileName).map(ImageHash::getHash).orElse(null);
+    }
+
+    // Computes and stores the hash; null for files ImageIO cannot decode (the check then skips the image)
+    public Long hashStoredFile(String fileName) {
+        Path file = this.fileStorageLocation.resolve(fileName).normalize();
+        try {
+            BufferedImage image = Files.isRegularFile(file) ? ImageIO.read(file.toFile()) : null;
+            if (image == null) {
+                return null;
+            }
+            long hash = differenceHash(image);
+            ImageHash row = new ImageHash();
+            row.setFileName(fileName);
+            row.setHash(hash);
+            imageHashRepo.save(row);
+            return hash;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not hash stored file {}", fileName, ex);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashWorker.shutdownNow();
+    }
+
+    // Box-averages the picture down to 9x8 in one pass over its rows, then sets a bit wherever a cell is
+    // brighter than its right neighbour. Survives rescaling, recompression and small colour shifts.
+    private static long differenceHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double[] sums = new double[HASH_WIDTH * HASH_HEIGHT];
+        int[] counts = new int[HASH_WIDTH * HASH_HEIGHT];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int cellRow = (int) ((long) y * HASH_HEIGHT / height) * HASH_WIDTH;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int cell = cellRow + (int) ((long) x * HASH_WIDTH / width);
+                sums[cell] += 0.299 * ((rgb >> 16) & 0xff) + 0.587 * ((rgb >> 8) & 0xff) + 0.114 * (rgb & 0xff);
+                counts[cell]++;
+            }
+        }
+        long hash = 0;
+        int bit = 0;
+        for (int y = 0; y < HASH_HEIGHT; y++) {
+            for (int x = 0; x < HASH_WIDTH - 1; x++) {
+                int cell = y * HASH_WIDTH + x;
+                if (mean(sums, counts, cell + 1) > mean(sums, counts, cell)) {
+                    hash |= 1L << bit;
+                }
+                bit++;
+            }
+        }
+        return hash;
+    }
+
+    private static double mean(double[] sums, int[] counts, int cell) {
+        return counts[cell] == 0 ? 0 : sums[cell] / counts[cell];
+    }
 }
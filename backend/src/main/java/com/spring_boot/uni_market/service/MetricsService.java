@@ -0,0 +1,53 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.config.BulkheadInterceptor;
+import com.spring_boot.uni_market.dto.BulkheadStatsDTO;
+import com.spring_boot.uni_market.dto.ConnectionPoolStatsDTO;
+import com.spring_boot.uni_market.dto.RateLimitStatsDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+@Service
+public class MetricsService {
+
+    @Autowired
+    private BulkheadInterceptor bulkheadInterceptor;
+    @Autowired
+    private RateLimiter rateLimiter;
+    @Autowired
+    private DataSource dataSource;
+
+    public List<BulkheadStatsDTO> getBulkheadStats() {
+        return bulkheadInterceptor.getStats();
+    }
+
+    public List<RateLimitStatsDTO> getRateLimitStats() {
+        return rateLimiter.getStats();
+    }
+
+    public ConnectionPoolStatsDTO getConnectionPoolStats() {
+        HikariDataSource hikari;
+        try {
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException ex) {
+            throw new RuntimeException("Connection pool is not Hikari", ex);
+        }
+        ConnectionPoolStatsDTO dto = new ConnectionPoolStatsDTO();
+        dto.setMaximumPoolSize(hikari.getMaximumPoolSize());
+        // Null until the pool has handed out its first connection
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+            dto.setActive(pool.getActiveConnections());
+            dto.setIdle(pool.getIdleConnections());
+            dto.setTotal(pool.getTotalConnections());
+            dto.setThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+        }
+        return dto;
+    }
+}
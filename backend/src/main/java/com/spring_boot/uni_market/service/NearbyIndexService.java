@@ -0,0 +1,79 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.entity.Product;
+import com.spring_boot.uni_market.enums.ProductStatus;
+import com.spring_boot.uni_market.repo.ProductRepo;
+import com.spring_boot.uni_market.utils.GeoGrid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Available listings with coordinates, gridded in memory for nearest-listing queries. Kept in step by
+ * CatalogIndexSubscriber; a listing leaves the grid when it is sold, reserved, hidden, deleted or moved to a
+ * location that is not a campus place.
+ */
+@Slf4j
+@Service
+public class NearbyIndexService {
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    private final GeoGrid<Long> grid;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public NearbyIndexService(@Value("${app.nearby.cell-meters:250}") double cellMeters) {
+        this.grid = new GeoGrid<>(cellMeters);
+    }
+
+    // Called once the gazetteer is seeded and listings that predate it are located (DataInitializer)
+    public void rebuild() {
+        // Read under the lock, like the facet index: events arriving meanwhile apply on top of the fresh grid
+        lock.writeLock().lock();
+        try {
+            grid.clear();
+            productRepo.findLocationsByStatus(ProductStatus.AVAILABLE).forEach(location -> grid.put(
+                    location.getProductId(), location.getLatitude(), location.getLongitude()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Nearby index built for {} listings", grid.size());
+    }
+
+    public void index(Product product) {
+        if (product.getStatus() != ProductStatus.AVAILABLE || product.getLatitude() == null
+                || product.getLongitude() == null) {
+            remove(product.getProductId());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            grid.put(product.getProductId(), product.getLatitude(), product.getLongitude());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            grid.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<GeoGrid.Match<Long>> nearest(double latitude, double longitude, double radiusMeters, int limit) {
+        lock.readLock().lock();
+        try {
+            return grid.nearest(latitude, longitude, radiusMeters, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.DomainEvent;
+import com.spring_boot.uni_market.entity.OutboxEvent;
+import com.spring_boot.uni_market.repo.OutboxEventRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Polls the outbox and fans committed events out to the DomainEventSubscriber beans. Each batch is split by
+ * aggregate: aggregates are delivered in parallel, the events of one aggregate strictly in outbox order. An
+ * event is marked processed only after every subscriber has handled it, so a crash in between redelivers it
+ * (at-least-once). A failing event is retried with exponential backoff, calling only the subscribers that have
+ * not handled it yet, and holds back the rest of its aggregate until it succeeds. Once its give-up window has
+ * passed it is parked with its last error (dead_at) rather than marked processed, and its aggregate moves on.
+ */
+@Slf4j
+@Service
+public class OutboxDispatcher {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private OutboxEventRepo outboxEventRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Autowired
+    private List<DomainEventSubscriber> subscribers;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+    @Value("${app.outbox.retry-base-ms:1000}")
+    private long retryBaseMs;
+    @Value("${app.outbox.retry-max-ms:600000}")
+    private long retryMaxMs;
+    @Value("${app.outbox.give-up-hours:24}")
+    private long giveUpHours;
+    @Value("${app.outbox.parallelism:4}")
+    private int parallelism;
+    @Value("${app.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void startWorkers() {
+        workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        // Aggregates with a failed event are skipped for the rest of this poll to keep their order
+        Set<String> blocked = new HashSet<>();
+        List<OutboxEvent> batch;
+        List<Long> processed;
+        int blockedBefore;
+        do {
+            blockedBefore = blocked.size();
+            LocalDateTime now = LocalDateTime.now();
+            // Blocked aggregates are left out of the query, so their backlog cannot fill every batch
+            batch = blocked.isEmpty() ? outboxEventRepo.findPending(now, PageRequest.of(0, batchSize))
+                    : outboxEventRepo.findPendingExcept(blocked, now, PageRequest.of(0, batchSize));
+            Map<String, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+            for (OutboxEvent event : batch) {
+                String key = event.getAggregateType() + ":" + event.getAggregateId();
+                byAggregate.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+            }
+
+            Map<String, Future<Delivery>> deliveries = new LinkedHashMap<>();
+            byAggregate.forEach((key, events) -> deliveries.put(key, workers.submit(() -> deliver(events))));
+
+            processed = new ArrayList<>();
+            for (Map.Entry<String, Future<Delivery>> delivery : deliveries.entrySet()) {
+                try {
+                    Delivery result = delivery.getValue().get();
+                    if (result.stopped()) {
+                        blocked.add(delivery.getKey());
+                    }
+                    processed.addAll(result.processed());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException ex) {
+                    blocked.add(delivery.getKey());
+                    log.error("Outbox delivery failed for {}", delivery.getKey(), ex.getCause());
+                }
+            }
+            List<Long> done = processed;
+            if (!done.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        outboxEventRepo.markProcessed(done, LocalDateTime.now()));
+            }
+            // A full batch that only blocked aggregates is worth a refill too: the next one leaves them out
+        } while (batch.size() == batchSize && (!processed.isEmpty() || blocked.size() > blockedBefore));
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval-ms:3600000}")
+    public void purgeProcessed() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer removed = transactionTemplate.execute(status -> outboxEventRepo.deleteProcessedBefore(before));
+        if (removed != null && removed > 0) {
+            log.info("Outbox purge: {} processed events removed", removed);
+        }
+    }
+
+    // Processes the events in order and stops at the first one that fails and is still worth retrying
+    private Delivery deliver(List<OutboxEvent> events) {
+        List<Long> processed = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            Set<String> deliveredTo = new LinkedHashSet<>();
+            if (event.getDeliveredTo() != null && !event.getDeliveredTo().isEmpty()) {
+                deliveredTo.addAll(List.of(event.getDeliveredTo().split(",")));
+            }
+            RuntimeException failure = null;
+            try {
+                DomainEvent domainEvent = toDomainEvent(event);
+                for (DomainEventSubscriber subscriber : subscribers) {
+                    String name = ClassUtils.getUserClass(subscriber).getSimpleName();
+                    if (!subscriber.getEventTypes().contains(event.getEventType()) || deliveredTo.contains(name)) {
+                        continue;
+                    }
+                    // One failing subscriber does not hold back the others; a retry calls only the ones that failed,
+                    // so subscribers that count (trending, analytics) do not see the event twice
+                    try {
+                        subscriber.onEvent(domainEvent);
+                        deliveredTo.add(name);
+                    } catch (RuntimeException ex) {
+                        if (failure == null) {
+                            failure = ex;
+                        } else {
+                            failure.addSuppressed(ex);
+                        }
+                    }
+                }
+            } catch (RuntimeException ex) {
+                failure = ex;
+            }
+            if (failure == null) {
+                processed.add(event.getEventId());
+                continue;
+            }
+
+            String error = failure.toString().length() > 1000 ? failure.toString().substring(0, 1000)
+                    : failure.toString();
+            String delivered = String.join(",", deliveredTo);
+            LocalDateTime now = LocalDateTime.now();
+            if (event.getCreatedAt() != null && event.getCreatedAt().plusHours(giveUpHours).isBefore(now)) {
+                // Parked rather than processed: it stays in the table with its error, and is not purged
+                transactionTemplate.executeWithoutResult(status ->
+                        outboxEventRepo.markDead(event.getEventId(), error, now, delivered));
+                log.error("Outbox event {} ({}) dead-lettered after {} attempts over {} hours", event.getEventId(),
+                        event.getEventType(), event.getAttempts() + 1, giveUpHours, failure);
+                continue;
+            }
+            long delayMs = Math.min(retryMaxMs, retryBaseMs << Math.min(event.getAttempts(), 30));
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepo.recordFailure(event.getEventId(),
+                    error, now.plus(Duration.ofMillis(delayMs)), delivered));
+            log.warn("Outbox event {} ({}) failed, attempt {}; retrying in {} ms", event.getEventId(),
+                    event.getEventType(), event.getAttempts() + 1, delayMs, failure);
+            return new Delivery(processed, true);
+        }
+        return new Delivery(processed, false);
+    }
+
+    private record Delivery(List<Long> processed, boolean stopped) {
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent event) {
+        Map<String, Object> payload = event.getPayload() == null ? Map.of()
+                : jsonMapper.readValue(event.getPayload(), PAYLOAD_TYPE);
+        return new DomainEvent(event.getEventId(), event.getEventType(), event.getAggregateId(), payload,
+                event.getCreatedAt());
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.entity.OutboxEvent;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.repo.OutboxEventRepo;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+
+@Service
+@Transactional
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepo outboxEventRepo;
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    // Joins the caller's transaction: the event exists if and only if the write it describes commits
+    public void publish(DomainEventType type, Long aggregateId, Map<String, Object> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(type);
+        event.setAggregateType(type.getAggregateType());
+        event.setAggregateId(aggregateId);
+        event.setPayload(jsonMapper.writeValueAsString(payload));
+        outboxEventRepo.save(event);
+    }
+}
@@ -0,0 +1,89 @@
+package com.spring_boot.uni_market.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Purges soft-deleted products and everything hanging off them. Children go first, bottom-up (messages,
+ * conversations, derived rows, images), each as set-based DELETE ... LIMIT statements in their own short
+ * transactions, so no statement holds locks on more than one batch of rows. Image files are removed once
+ * their rows are gone and no other listing points at the same file.
+ */
+@Slf4j
+@Service
+public class ProductReclaimer {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ImageService imageService;
+
+    @Value("${app.reclaim.products-per-run:50}")
+    private int productsPerRun;
+    @Value("${app.reclaim.batch-size:1000}")
+    private int batchSize;
+    @Value("${app.reclaim.grace-minutes:5}")
+    private long graceMinutes;
+
+    @Scheduled(initialDelayString = "${app.reclaim.interval-ms:60000}", fixedDelayString = "${app.reclaim.interval-ms:60000}")
+    public void reclaim() {
+        // The grace period lets outbox subscribers and sync clients see the delete before the rows vanish
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("deletedBefore", LocalDateTime.now().minusMinutes(graceMinutes))
+                .addValue("limit", productsPerRun);
+        List<Long> productIds = jdbcTemplate.queryForList(
+                "SELECT product_id FROM product WHERE deleted_at IS NOT NULL AND deleted_at < :deletedBefore "
+                        + "ORDER BY deleted_at LIMIT :limit",
+                params, Long.class);
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        params = new MapSqlParameterSource().addValue("ids", productIds).addValue("limit", batchSize);
+        long messages = deleteInBatches("DELETE FROM message WHERE conversation_id IN "
+                + "(SELECT conversation_id FROM conversation WHERE product_id IN (:ids)) LIMIT :limit", params);
+        long conversations = deleteInBatches("DELETE FROM conversation WHERE product_id IN (:ids) LIMIT :limit", params);
+        deleteInBatches("DELETE FROM product_similarity WHERE product_id IN (:ids) LIMIT :limit", params);
+        deleteInBatches("DELETE FROM product_similarity WHERE similar_product_id IN (:ids) LIMIT :limit", params);
+        deleteInBatches("DELETE FROM trending_score WHERE product_id IN (:ids) LIMIT :limit", params);
+
+        List<String> imageUrls = jdbcTemplate.queryForList(
+                "SELECT DISTINCT image_url FROM product_image WHERE product_id IN (:ids)", params, String.class);
+        long images = deleteInBatches("DELETE FROM product_image WHERE product_id IN (:ids) LIMIT :limit", params);
+        int products = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "DELETE FROM product WHERE product_id IN (:ids) AND deleted_at IS NOT NULL", new MapSqlParameterSource("ids", productIds)));
+
+        int files = 0;
+        for (String imageUrl : imageUrls) {
+            Integer stillUsed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_image WHERE image_url = :url",
+                    new MapSqlParameterSource("url", imageUrl), Integer.class);
+            if ((stillUsed == null || stillUsed == 0) && imageService.deleteStoredFile(imageUrl)) {
+                files++;
+            }
+        }
+        log.info("Reclaimed {} products ({} conversations, {} messages, {} images, {} files) in {} ms", products,
+                conversations, messages, images, files, System.currentTimeMillis() - start);
+    }
+
+    private long deleteInBatches(String sql, MapSqlParameterSource params) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> jdbcTemplate.update(sql, params));
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
@@ -1,28 +1,53 @@
 package com.spring_boot.uni_market.service;
 
+import com.spring_boot.uni_market.dto.NearbyProductDTO;
 import com.spring_boot.uni_market.dto.ProductDTO;
+import com.spring_boot.uni_market.dto.ProductSummaryDTO;
+import com.spring_boot.uni_market.dto.UserSummaryDTO;
 import com.spring_boot.uni_market.entity.Category;
 import com.spring_boot.uni_market.entity.Product;
 import com.spring_boot.uni_market.entity.ProductImage;
 import com.spring_boot.uni_market.entity.User;
+import com.spring_boot.uni_market.enums.ChangeEntityType;
+import com.spring_boot.uni_market.enums.ChangeOperation;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.enums.DuplicateMode;
+import com.spring_boot.uni_market.enums.ProductField;
 import com.spring_boot.uni_market.enums.ProductStatus;
+import com.spring_boot.uni_market.exception.DuplicateListingException;
 import com.spring_boot.uni_market.repo.CategoryRepo;
 import com.spring_boot.uni_market.repo.ProductImageRepo;
 import com.spring_boot.uni_market.repo.ProductRepo;
 import com.spring_boot.uni_market.repo.UserProfileRepo;
 import com.spring_boot.uni_market.repo.UserRepo;
+import com.spring_boot.uni_market.utils.ETags;
+import com.spring_boot.uni_market.utils.GeoGrid;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProductService {
 
+    private static final int MAX_NEARBY_LIMIT = 50;
+    private static final int MAX_NEARBY_CANDIDATES = 400;
+
     @Autowired
     private ProductRepo productRepo;
     @Autowired
@@ -33,7 +58,33 @@ public class ProductService {
     private ProductImageRepo productImageRepo;
     @Autowired
     private UserProfileRepo userProfileRepo;
+    @Autowired
+    private ChangeLogService changeLogService;
+    @Autowired
+    private ViewCounterService viewCounterService;
+    @Autowired
+    private TrendingService trendingService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+    @Autowired
+    private ImageHashIndex imageHashIndex;
+    @Autowired
+    private CampusPlaceService campusPlaceService;
+    @Autowired
+    private NearbyIndexService nearbyIndexService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.duplicate-detection.mode:FLAG}")
+    private DuplicateMode duplicateMode;
+    @Value("${app.nearby.max-radius-meters:5000}")
+    private double maxNearbyRadius;
 
+    // Not in a transaction itself: the repost check may wait on image hashes, which must not hold a pooled
+    // connection, so only the writes below run in one
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public String addProduct(ProductDTO dto) {
         System.out.println("Adding Product: " + dto);
 
@@ -44,6 +95,16 @@ public class ProductService {
             throw new RuntimeException("Category ID cannot be null");
         }
 
+        // Reposts are caught by their pictures: the same photos re-uploaded hash within a few bits of each other
+        Long duplicateOf = duplicateMode == DuplicateMode.OFF || dto.getImageUrls() == null ? null
+                : imageHashIndex.findDuplicate(dto.getSellerId(), dto.getImageUrls());
+        if (duplicateOf != null && duplicateMode == DuplicateMode.REJECT) {
+            throw new DuplicateListingException(duplicateOf);
+        }
+        return transactionTemplate.execute(status -> saveProduct(dto, duplicateOf));
+    }
+
+    private String saveProduct(ProductDTO dto, Long duplicateOf) {
         User seller = userRepo.findById(dto.getSellerId())
                 .orElseThrow(() -> new RuntimeException("Seller not found with ID: " + dto.getSellerId()));
         Category category = categoryRepo.findById(dto.getCategoryId())
@@ -57,9 +118,12 @@ public class ProductService {
         product.setPrice(dto.getPrice());
         product.setCondition(dto.getCondition());
         product.setLocation(dto.getLocation());
+        campusPlaceService.locate(product);
         product.setStatus(ProductStatus.AVAILABLE);
+        product.setDuplicateOf(duplicateOf);
 
         Product savedProduct = productRepo.save(product);
+        changeLogService.record(ChangeEntityType.PRODUCT, savedProduct.getProductId(), ChangeOperation.UPSERT);
 
         if (dto.getImageUrls() != null && !dto.getImageUrls().isEmpty()) {
             boolean isFirst = true;
@@ -69,45 +133,197 @@ public class ProductService {
                 image.setImageUrl(url);
                 image.setPrimary(isFirst);
                 productImageRepo.save(image);
+                changeLogService.record(ChangeEntityType.PRODUCT_IMAGE, image.getImageId(), ChangeOperation.UPSERT);
                 isFirst = false;
             }
         }
-        return "Product Added Successfully";
+        outboxService.publish(DomainEventType.PRODUCT_CREATED, savedProduct.getProductId(), eventPayload(savedProduct));
+        return duplicateOf == null ? "Product Added Successfully"
+                : "Product Added Successfully (flagged as a possible repost of product " + duplicateOf + ")";
+    }
+
+    public List<ProductDTO> getAllProducts(Set<ProductField> fields) {
+        List<Product> products = fields.contains(ProductField.CATEGORY_NAME)
+                ? productRepo.findAllWithCategory() : productRepo.findAll();
+        return mapToDTOs(products, fields);
+    }
+
+    public List<ProductDTO> getProductsByCategory(Long categoryId, Set<ProductField> fields) {
+        List<Product> products = fields.contains(ProductField.CATEGORY_NAME)
+                ? productRepo.findByCategoryWithCategory(categoryId) : productRepo.findByCategory_CategoryId(categoryId);
+        return mapToDTOs(products, fields);
+    }
+
+    public List<ProductSummaryDTO> getAllProductSummaries() {
+        return mapToSummaryDTOs(productRepo.findAllWithCategory());
+    }
+
+    public List<ProductSummaryDTO> getProductSummariesByCategory(Long categoryId) {
+        return mapToSummaryDTOs(productRepo.findByCategoryWithCategory(categoryId));
+    }
+
+    public List<ProductDTO> getProductsByIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return mapToDTOs(productRepo.findAllById(productIds), EnumSet.allOf(ProductField.class));
     }
 
-    public List<ProductDTO> getAllProducts() {
-        return productRepo.findAll().stream().map(this::mapToDTO).collect(Collectors.toList());
+    public List<ProductSummaryDTO> getLatestProductSummaries(int limit) {
+        return mapToSummaryDTOs(productRepo.findLatestWithCategory(PageRequest.of(0, limit)));
     }
 
-    public List<ProductDTO> getProductsByCategory(Long categoryId) {
-        return productRepo.findByCategory_CategoryId(categoryId).stream().map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public List<ProductSummaryDTO> getAvailableProductSummariesByIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return mapToSummaryDTOs(productRepo.findAllById(productIds).stream()
+                .filter(product -> product.getStatus() == ProductStatus.AVAILABLE).toList());
     }
 
-    public ProductDTO getProductById(Long productId) {
+    public ProductSummaryDTO getProductSummary(Product product) {
+        return mapToSummaryDTOs(List.of(product)).get(0);
+    }
+
+    public List<ProductSummaryDTO> getSimilarProducts(Long productId) {
+        return mapToSummaryDTOs(productRepo.findSimilarProducts(productId));
+    }
+
+    // The grid may trail a sale by an event; the rows are re-checked so only available listings come back
+    public List<NearbyProductDTO> getNearbyProducts(double latitude, double longitude, double radiusMeters,
+            int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("lat must be within [-90, 90] and lng within [-180, 180]");
+        }
+        // Both caps bound the work: the grid scan grows with the radius, the row lookup with the limit
+        if (!(radiusMeters > 0 && radiusMeters <= maxNearbyRadius) || limit < 1 || limit > MAX_NEARBY_LIMIT) {
+            throw new IllegalArgumentException("radius must be between 0 and " + (long) maxNearbyRadius
+                    + " metres and limit between 1 and " + MAX_NEARBY_LIMIT);
+        }
+        // More candidates than the limit, so stale ones do not leave the page short; while they still do and the
+        // grid has more within the radius, the window widens and only the new candidates' rows are loaded
+        Map<Long, Product> available = new HashMap<>();
+        Set<Long> checked = new HashSet<>();
+        List<GeoGrid.Match<Long>> matches;
+        int window = Math.min(limit * 2, MAX_NEARBY_CANDIDATES);
+        while (true) {
+            matches = nearbyIndexService.nearest(latitude, longitude, radiusMeters, window);
+            List<Long> unchecked = matches.stream().map(GeoGrid.Match::key).filter(checked::add).toList();
+            if (!unchecked.isEmpty()) {
+                productRepo.findAllById(unchecked).stream()
+                        .filter(product -> product.getStatus() == ProductStatus.AVAILABLE)
+                        .forEach(product -> available.put(product.getProductId(), product));
+            }
+            if (available.size() >= limit || matches.size() < window || window == MAX_NEARBY_CANDIDATES) {
+                break;
+            }
+            window = Math.min(window * 2, MAX_NEARBY_CANDIDATES);
+        }
+        // Matches come nearest first, so the first available ones are the nearest available ones
+        List<GeoGrid.Match<Long>> nearest = matches.stream().filter(match -> available.containsKey(match.key()))
+                .limit(limit).toList();
+        Map<Long, ProductDTO> products = mapToDTOs(nearest.stream().map(match -> available.get(match.key())).toList(),
+                EnumSet.allOf(ProductField.class)).stream()
+                .collect(Collectors.toMap(ProductDTO::getProductId, dto -> dto));
+        return nearest.stream().map(match -> {
+            NearbyProductDTO dto = new NearbyProductDTO();
+            dto.setProduct(products.get(match.key()));
+            dto.setDistanceMeters(Math.round(match.distanceMeters()));
+            return dto;
+        }).toList();
+    }
+
+    // Listings saved before their location was a known place; each is saved like an edit, so its version moves
+    // (cached ETags go stale), sync clients get a change_log row and the catalog indexes a PRODUCT_UPDATED event
+    public int locateExistingListings() {
+        List<Product> unlocated = productRepo.findUnlocatedAtKnownPlaces();
+        for (Product product : unlocated) {
+            campusPlaceService.locate(product);
+            productRepo.save(product);
+            changeLogService.record(ChangeEntityType.PRODUCT, product.getProductId(), ChangeOperation.UPSERT);
+            outboxService.publish(DomainEventType.PRODUCT_UPDATED, product.getProductId(), eventPayload(product));
+        }
+        return unlocated.size();
+    }
+
+    public ProductDTO getProductById(Long productId, Set<ProductField> fields) {
         Product product = productRepo.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
-        return mapToDTO(product);
+        viewCounterService.recordView(productId);
+        ProductDTO dto = mapToDTOs(List.of(product), fields).get(0);
+        // A sparse read lacks the card fields; they are only loaded if trending has no summary yet
+        boolean complete = fields.containsAll(EnumSet.of(ProductField.IMAGE_URLS, ProductField.CATEGORY_NAME,
+                ProductField.TITLE, ProductField.PRICE, ProductField.CONDITION));
+        trendingService.recordView(productId, () -> product.getStatus() != ProductStatus.AVAILABLE ? null
+                : complete ? toSummary(dto) : getProductSummary(product));
+        return dto;
+    }
+
+    // A 304 revalidation is still a view; the product is only loaded if trending holds no summary for it yet
+    public void recordView(Long productId) {
+        viewCounterService.recordView(productId);
+        trendingService.recordView(productId, () -> {
+            Product product = productRepo.findById(productId)
+                    .orElseThrow(() -> new RuntimeException("Product not found"));
+            return product.getStatus() == ProductStatus.AVAILABLE ? getProductSummary(product) : null;
+        });
     }
 
     public String deleteProduct(Long productId) {
         Product product = productRepo.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
-        productRepo.delete(product);
+        // Images are purged with the product by ProductReclaimer; tombstone them for sync clients now
+        for (ProductImage image : productImageRepo.findByProduct(product)) {
+            changeLogService.record(ChangeEntityType.PRODUCT_IMAGE, image.getImageId(), ChangeOperation.DELETE);
+        }
+        changeLogService.record(ChangeEntityType.PRODUCT, productId, ChangeOperation.DELETE);
+        outboxService.publish(DomainEventType.PRODUCT_DELETED, productId, eventPayload(product));
+        // A single-row update; the images, conversations and messages are reclaimed in the background
+        product.setDeletedAt(LocalDateTime.now());
+        productRepo.save(product);
         return "Product Deleted Successfully";
     }
 
-    public String updateProduct(ProductDTO dto) {
+    // Cheap validators for conditional GETs: a version lookup instead of loading and mapping the product
+    public String getProductETag(Long productId) {
+        ProductRepo.ProductVersion versions = productRepo.findVersionsById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        long sellerVersion = versions.getSellerVersion() == null ? 0 : versions.getSellerVersion();
+        return "p" + productId + "-" + versions.getProductVersion() + "-" + sellerVersion + "-"
+                + versions.getCategoryVersion() + "-" + versions.getImageCount() + "-" + versions.getMaxImageId();
+    }
+
+    // Changes on insert, delete, any product update, any seller profile update (seller name/phone are in the DTO),
+    // any category change (its name is in the DTO) and any image added or purged
+    public String getCatalogETag() {
+        ProductRepo.CatalogVersion catalog = productRepo.findCatalogVersion();
+        return "products-" + catalog.getProductCount() + "-" + catalog.getMaxProductId() + "-"
+                + catalog.getVersionSum() + "-" + userProfileRepo.sumVersions() + "-"
+                + catalog.getCategoryCount() + "-" + catalog.getCategoryVersionSum() + "-"
+                + catalog.getImageCount() + "-" + catalog.getMaxImageId();
+    }
+
+    public String updateProduct(ProductDTO dto, String ifMatch) {
         Product product = productRepo.findById(dto.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
+        if (!ETags.matches(ifMatch, getProductETag(product.getProductId()))) {
+            throw new OptimisticLockingFailureException("Product has been modified since it was retrieved");
+        }
+
+        boolean sold = dto.getStatus() == ProductStatus.SOLD && product.getStatus() != ProductStatus.SOLD;
+
         // Basic fields update
         product.setTitle(dto.getTitle());
         product.setDescription(dto.getDescription());
         product.setPrice(dto.getPrice());
         product.setCondition(dto.getCondition());
         product.setLocation(dto.getLocation());
+        campusPlaceService.locate(product);
         product.setContactPhone(dto.getContactPhone());
+        if (dto.getStatus() != null) {
+            product.setStatus(dto.getStatus());
+        }
 
         // Category update if changed
         if (!product.getCategory().getCategoryId().equals(dto.getCategoryId())) {
@@ -117,32 +333,123 @@ public class ProductService {
         }
 
         productRepo.save(product);
+        changeLogService.record(ChangeEntityType.PRODUCT, product.getProductId(), ChangeOperation.UPSERT);
+        Map<String, Object> payload = eventPayload(product);
+        // Only the transition counts as a sale, not every later edit of a sold listing
+        payload.put("sold", sold);
+        outboxService.publish(DomainEventType.PRODUCT_UPDATED, product.getProductId(), payload);
         return "Product Updated Successfully";
     }
 
-    private ProductDTO mapToDTO(Product product) {
+    // Only the lookups the requested fields need; seller and category ids come from the lazy proxies' ids
+    private List<ProductDTO> mapToDTOs(List<Product> products, Set<ProductField> fields) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        // Seller names and phones for the whole page in one cache lookup (at most one IN query on misses)
+        Map<Long, UserSummaryDTO> sellers = fields.contains(ProductField.SELLER_NAME)
+                || fields.contains(ProductField.CONTACT_PHONE)
+                        ? userSummaryCache.getAll(products.stream()
+                                .map(product -> product.getSeller().getUserId()).collect(Collectors.toSet()))
+                        : Map.of();
+        // All images of the page in one IN query
+        Map<Long, List<String>> images = fields.contains(ProductField.IMAGE_URLS)
+                ? productImageRepo.findByProductIn(products).stream()
+                        .collect(Collectors.groupingBy(image -> image.getProduct().getProductId(),
+                                Collectors.mapping(ProductImage::getImageUrl, Collectors.toList())))
+                : null;
+        boolean withCategoryName = fields.contains(ProductField.CATEGORY_NAME);
+
+        return products.stream().map(product -> {
+            ProductDTO dto = mapToDTO(product, sellers.get(product.getSeller().getUserId()));
+            if (withCategoryName) {
+                dto.setCategoryName(product.getCategory().getName());
+            }
+            if (images != null) {
+                dto.setImageUrls(images.getOrDefault(product.getProductId(), List.of()));
+            }
+            return dto;
+        }).collect(Collectors.toList());
+    }
+
+    private ProductDTO mapToDTO(Product product, UserSummaryDTO seller) {
         ProductDTO dto = new ProductDTO();
         dto.setProductId(product.getProductId());
         dto.setSellerId(product.getSeller().getUserId());
         dto.setCategoryId(product.getCategory().getCategoryId());
-        dto.setCategoryName(product.getCategory().getName());
         dto.setTitle(product.getTitle());
         dto.setDescription(product.getDescription());
         dto.setPrice(product.getPrice());
         dto.setCondition(product.getCondition());
+        dto.setStatus(product.getStatus());
         dto.setLocation(product.getLocation());
+        dto.setLatitude(product.getLatitude());
+        dto.setLongitude(product.getLongitude());
 
         // Get phone and name from UserProfile instead of Product entity
-        userProfileRepo.findByUser(product.getSeller()).ifPresent(profile -> {
-            dto.setContactPhone(profile.getPhone());
-            dto.setSellerName(profile.getFullName());
-        });
-
-        List<ProductImage> images = productImageRepo.findByProduct(product);
-        List<String> imageUrls = images.stream().map(ProductImage::getImageUrl).collect(Collectors.toList());
-        dto.setImageUrls(imageUrls);
+        if (seller != null) {
+            dto.setContactPhone(seller.getPhone());
+            dto.setSellerName(seller.getFullName());
+        }
         dto.setCreatedAt(product.getCreatedAt());
+        dto.setDuplicateOf(product.getDuplicateOf());
 
         return dto;
     }
+
+    // The fields saved-search matching needs, without the profile and image lookups of mapToDTO
+    public ProductDTO getListing(Product product) {
+        ProductDTO dto = new ProductDTO();
+        dto.setProductId(product.getProductId());
+        dto.setSellerId(product.getSeller().getUserId());
+        dto.setCategoryId(product.getCategory().getCategoryId());
+        dto.setTitle(product.getTitle());
+        dto.setDescription(product.getDescription());
+        dto.setPrice(product.getPrice());
+        dto.setCondition(product.getCondition());
+        dto.setLocation(product.getLocation());
+        return dto;
+    }
+
+    // Subscribers re-read the product itself; the payload only carries what is gone once it is deleted
+    private Map<String, Object> eventPayload(Product product) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("sellerId", product.getSeller().getUserId());
+        payload.put("categoryId", product.getCategory().getCategoryId());
+        return payload;
+    }
+
+    private ProductSummaryDTO toSummary(ProductDTO dto) {
+        ProductSummaryDTO summary = new ProductSummaryDTO();
+        summary.setProductId(dto.getProductId());
+        summary.setTitle(dto.getTitle());
+        summary.setPrice(dto.getPrice());
+        summary.setCondition(dto.getCondition());
+        summary.setPrimaryImageUrl(dto.getImageUrls().isEmpty() ? null : dto.getImageUrls().get(0));
+        summary.setCategoryId(dto.getCategoryId());
+        summary.setCategoryName(dto.getCategoryName());
+        return summary;
+    }
+
+    private List<ProductSummaryDTO> mapToSummaryDTOs(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        // One IN query for all primary images instead of one lookup per card
+        Map<Long, String> primaryImages = productImageRepo.findPrimaryByProductIn(products).stream()
+                .collect(Collectors.toMap(image -> image.getProduct().getProductId(), ProductImage::getImageUrl,
+                        (first, second) -> first));
+
+        return products.stream().map(product -> {
+            ProductSummaryDTO dto = new ProductSummaryDTO();
+            dto.setProductId(product.getProductId());
+            dto.setTitle(product.getTitle());
+            dto.setPrice(product.getPrice());
+            dto.setCondition(product.getCondition());
+            dto.setPrimaryImageUrl(primaryImages.get(product.getProductId()));
+            dto.setCategoryId(product.getCategory().getCategoryId());
+            dto.setCategoryName(product.getCategory().getName());
+            return dto;
+        }).collect(Collectors.toList());
+    }
 }
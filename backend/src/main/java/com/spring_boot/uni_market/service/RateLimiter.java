@@ -0,0 +1,276 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.config.RateLimitProperties;
+import com.spring_boot.uni_market.dto.RateLimitStatsDTO;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for write routes, in two layers, neither of which takes a lock:
+ *
+ * Rate: a token bucket per user and per client IP, kept in GCRA form, i.e. one AtomicLong per key holding
+ * the "theoretical arrival time" of the next request. Admitting a request is one CAS that pushes it forward
+ * by the emission interval; the bucket is empty when it runs more than a burst ahead of now, and full (and
+ * dropped by the sweep) once now has caught up with it.
+ *
+ * Concurrency: an AIMD limit per route on requests in flight. Responses faster than the latency target grow
+ * the limit additively, slower ones shrink it multiplicatively, so when writes back up behind a slow disk or
+ * database the route sheds load instead of queueing more of it.
+ */
+@Service
+public class RateLimiter {
+
+    private final Map<String, Route> routesByRequest = new HashMap<>();
+    private final List<Route> routes = new ArrayList<>();
+    private final int maxTrackedKeys;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.maxTrackedKeys = properties.getMaxTrackedKeys();
+        properties.getRoutes().forEach((name, policy) -> {
+            Route route = new Route(name, policy);
+            routes.add(route);
+            for (String path : policy.getPaths()) {
+                routesByRequest.put(policy.getMethod().toUpperCase() + " " + path, route);
+            }
+        });
+    }
+
+    public boolean isLimited(String method, String path) {
+        return routesByRequest.containsKey(method + " " + path);
+    }
+
+    // userId may be null (no valid session key), in which case only the IP bucket applies
+    public Permit tryAcquire(String method, String path, String userId, String clientIp) {
+        Route route = routesByRequest.get(method + " " + path);
+        if (route == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        AtomicLong ipState = route.ipBuckets.state(clientIp, now);
+        long ipAhead = route.ipBuckets.tryTake(ipState, now);
+        AtomicLong userState = userId == null || ipAhead < 0 ? null : route.userBuckets.state(userId, now);
+        long userAhead = userState == null ? 0 : route.userBuckets.tryTake(userState, now);
+        if (ipAhead < 0 || userAhead < 0) {
+            // A rejected request must not cost a token from the bucket that admitted it
+            if (ipAhead >= 0) {
+                route.ipBuckets.refund(ipState);
+            }
+            route.throttled.incrementAndGet();
+            long wait = Math.max(ipAhead < 0 ? -ipAhead : 0, userAhead < 0 ? -userAhead : 0);
+            int limit = userAhead < 0 ? route.userBuckets.burst : route.ipBuckets.burst;
+            return new Permit(route, Outcome.THROTTLED, limit, 0, toSeconds(wait), now);
+        }
+
+        // Report the tighter of the two buckets, as the RateLimit headers describe a single limit
+        Buckets tighter = userId == null
+                || route.ipBuckets.remaining(ipAhead) < route.userBuckets.remaining(userAhead)
+                        ? route.ipBuckets : route.userBuckets;
+        long ahead = tighter == route.ipBuckets ? ipAhead : userAhead;
+        int remaining = tighter.remaining(ahead);
+        long resetSeconds = toSeconds(ahead);
+
+        if (!route.concurrency.tryAcquire()) {
+            // Shed for overload, not for the client's rate: both tokens go back, so a retry after Retry-After
+            // does not drain the client's buckets
+            route.ipBuckets.refund(ipState);
+            if (userState != null) {
+                route.userBuckets.refund(userState);
+            }
+            route.shed.incrementAndGet();
+            return new Permit(route, Outcome.SHED, tighter.burst, tighter.remaining(ahead - tighter.interval), 1, now);
+        }
+        route.allowed.incrementAndGet();
+        return new Permit(route, Outcome.ALLOWED, tighter.burst, remaining, resetSeconds, now);
+    }
+
+    public void release(Permit permit) {
+        if (permit.outcome() == Outcome.ALLOWED) {
+            permit.route().concurrency.release(System.nanoTime() - permit.startedAt());
+        }
+    }
+
+    // A bucket whose next arrival time has passed is full again, so forgetting it changes nothing
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (Route route : routes) {
+            route.userBuckets.sweep(now);
+            route.ipBuckets.sweep(now);
+        }
+    }
+
+    public List<RateLimitStatsDTO> getStats() {
+        return routes.stream().map(Route::toDTO).toList();
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+
+    public enum Outcome {
+        ALLOWED, THROTTLED, SHED
+    }
+
+    /**
+     * limit/remaining/resetSeconds feed the RateLimit-* headers; for rejections resetSeconds is the
+     * Retry-After value.
+     */
+    public record Permit(Route route, Outcome outcome, int limit, int remaining, long resetSeconds,
+            long startedAt) {
+    }
+
+    public final class Route {
+        private final String name;
+        private final RateLimitProperties.Policy policy;
+        private final Buckets userBuckets;
+        private final Buckets ipBuckets;
+        private final AimdLimit concurrency;
+        private final AtomicLong allowed = new AtomicLong();
+        private final AtomicLong throttled = new AtomicLong();
+        private final AtomicLong shed = new AtomicLong();
+
+        private Route(String name, RateLimitProperties.Policy policy) {
+            this.name = name;
+            this.policy = policy;
+            this.userBuckets = new Buckets(policy.getUserPerMinute(), policy.getUserBurst());
+            this.ipBuckets = new Buckets(policy.getIpPerMinute(), policy.getIpBurst());
+            this.concurrency = new AimdLimit(policy);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        private RateLimitStatsDTO toDTO() {
+            RateLimitStatsDTO dto = new RateLimitStatsDTO();
+            dto.setRoute(name);
+            dto.setMethod(policy.getMethod());
+            dto.setPaths(policy.getPaths());
+            dto.setConcurrencyLimit(concurrency.limit());
+            dto.setInFlight(concurrency.inFlight.get());
+            dto.setAllowed(allowed.get());
+            dto.setThrottled(throttled.get());
+            dto.setShed(shed.get());
+            dto.setTrackedUsers(userBuckets.states.size());
+            dto.setTrackedIps(ipBuckets.states.size());
+            return dto;
+        }
+    }
+
+    private final class Buckets {
+        private final long interval;
+        private final long tolerance;
+        private final int burst;
+        private final Map<String, AtomicLong> states = new ConcurrentHashMap<>();
+        private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+
+        private Buckets(long perMinute, int burst) {
+            this.interval = Math.max(1, TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute));
+            this.burst = Math.max(1, burst);
+            this.tolerance = interval * this.burst;
+        }
+
+        AtomicLong state(String key, long now) {
+            AtomicLong state = states.get(key);
+            if (state == null) {
+                state = states.size() >= maxTrackedKeys ? overflow
+                        : states.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            return state;
+        }
+
+        // Admitted: how far the bucket's arrival time now runs ahead of now (> 0). Empty: minus the nanos to wait.
+        long tryTake(AtomicLong state, long now) {
+            while (true) {
+                long current = state.get();
+                // nanoTime values are only comparable by difference
+                long next = (current - now < 0 ? now : current) + interval;
+                long ahead = next - now;
+                if (ahead > tolerance) {
+                    return -(ahead - tolerance);
+                }
+                if (state.compareAndSet(current, next)) {
+                    return ahead;
+                }
+            }
+        }
+
+        // Gives back a token taken by tryTake; a state swept in between is no longer read, so nothing changes
+        void refund(AtomicLong state) {
+            state.addAndGet(-interval);
+        }
+
+        int remaining(long ahead) {
+            return (int) ((tolerance - ahead) / interval);
+        }
+
+        void sweep(long now) {
+            states.values().removeIf(state -> state.get() - now <= 0);
+        }
+    }
+
+    private static final class AimdLimit {
+        private final int min;
+        private final int max;
+        private final long targetNanos;
+        private final double backoffRatio;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // The limit is fractional so additive increase can add 1/limit per fast response
+        private final AtomicLong limitBits;
+
+        private AimdLimit(RateLimitProperties.Policy policy) {
+            this.min = Math.max(1, policy.getMinConcurrency());
+            this.max = Math.max(min, policy.getMaxConcurrency());
+            this.targetNanos = TimeUnit.MILLISECONDS.toNanos(policy.getLatencyTargetMs());
+            this.backoffRatio = policy.getBackoffRatio();
+            int initial = Math.min(max, Math.max(min, policy.getInitialConcurrency()));
+            this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initial));
+        }
+
+        int limit() {
+            return (int) Double.longBitsToDouble(limitBits.get());
+        }
+
+        boolean tryAcquire() {
+            int limit = limit();
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release(long latencyNanos) {
+            int busy = inFlight.getAndDecrement();
+            while (true) {
+                long bits = limitBits.get();
+                double limit = Double.longBitsToDouble(bits);
+                double next;
+                if (latencyNanos > targetNanos) {
+                    next = Math.max(min, limit * backoffRatio);
+                } else if (busy * 2 >= limit) {
+                    // Only grow while the limit is actually being used, or an idle route creeps up to max
+                    next = Math.min(max, limit + 1 / limit);
+                } else {
+                    return;
+                }
+                if (next == limit || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.ProductDTO;
+import com.spring_boot.uni_market.dto.SavedSearchDTO;
+import com.spring_boot.uni_market.dto.SearchAlertDTO;
+import com.spring_boot.uni_market.entity.Category;
+import com.spring_boot.uni_market.entity.SavedSearch;
+import com.spring_boot.uni_market.entity.User;
+import com.spring_boot.uni_market.repo.CategoryRepo;
+import com.spring_boot.uni_market.repo.SavedSearchRepo;
+import com.spring_boot.uni_market.repo.UserRepo;
+import com.spring_boot.uni_market.utils.SearchPercolator;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Saved-search alerts, percolator style: the stored queries are indexed in a SearchPercolator, and each new
+ * listing is run against that index.
+ */
+@Slf4j
+@Service
+@Transactional
+public class SavedSearchService {
+
+    @Autowired
+    private SavedSearchRepo savedSearchRepo;
+    @Autowired
+    private UserRepo userRepo;
+    @Autowired
+    private CategoryRepo categoryRepo;
+
+    @Value("${app.search-alerts.queue-size:100}")
+    private int queueSize;
+
+    private final SearchPercolator percolator = new SearchPercolator();
+    private final Map<Long, Deque<SearchAlertDTO>> alerts = new ConcurrentHashMap<>();
+    private final ExecutorService matcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "saved-search-matcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadQueries() {
+        List<SavedSearch> saved = savedSearchRepo.findAll();
+        saved.forEach(search -> percolator.add(toQuery(search)));
+        log.info("Saved searches indexed: {}", saved.size());
+    }
+
+    public SavedSearchDTO createSavedSearch(SavedSearchDTO dto) {
+        User user = userRepo.findById(dto.getUserId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        SavedSearch search = new SavedSearch();
+        search.setUser(user);
+        search.setKeywords(dto.getKeywords());
+        if (dto.getCategoryId() != null) {
+            Category category = categoryRepo.findById(dto.getCategoryId())
+                    .orElseThrow(() -> new RuntimeException("Category not found"));
+            search.setCategory(category);
+        }
+        search.setMinPrice(dto.getMinPrice());
+        search.setMaxPrice(dto.getMaxPrice());
+        search.setCondition(dto.getCondition());
+        search.setLocation(dto.getLocation());
+
+        SavedSearch saved = savedSearchRepo.save(search);
+        percolator.add(toQuery(saved));
+        return mapToDTO(saved);
+    }
+
+    public List<SavedSearchDTO> getSavedSearches(Long userId) {
+        return savedSearchRepo.findByUser_UserId(userId).stream().map(this::mapToDTO).collect(Collectors.toList());
+    }
+
+    public String deleteSavedSearch(Long savedSearchId) {
+        SavedSearch search = savedSearchRepo.findById(savedSearchId)
+                .orElseThrow(() -> new RuntimeException("Saved search not found"));
+        savedSearchRepo.delete(search);
+        percolator.remove(savedSearchId);
+        return "Saved Search Deleted Successfully";
+    }
+
+    // Drains the user's pending alerts
+    public List<SearchAlertDTO> pollAlerts(Long userId) {
+        Deque<SearchAlertDTO> queue = alerts.get(userId);
+        List<SearchAlertDTO> result = new ArrayList<>();
+        SearchAlertDTO alert;
+        while (queue != null && (alert = queue.pollFirst()) != null) {
+            result.add(alert);
+        }
+        return result;
+    }
+
+    // Off the request path: the listing is matched on the single matcher thread
+    public void matchAsync(ProductDTO product) {
+        matcher.execute(() -> {
+            try {
+                match(product);
+            } catch (RuntimeException ex) {
+                log.error("Saved search matching failed for product {}", product.getProductId(), ex);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        matcher.shutdown();
+    }
+
+    private void match(ProductDTO product) {
+        LocalDateTime now = LocalDateTime.now();
+        for (SearchPercolator.Query query : percolator.match(product)) {
+            if (query.userId().equals(product.getSellerId())) {
+                continue;
+            }
+            SearchAlertDTO alert = new SearchAlertDTO();
+            alert.setSavedSearchId(query.id());
+            alert.setProductId(product.getProductId());
+            alert.setProductTitle(product.getTitle());
+            alert.setPrice(product.getPrice());
+            alert.setMatchedAt(now);
+
+            Deque<SearchAlertDTO> queue = alerts.computeIfAbsent(query.userId(), id -> new ConcurrentLinkedDeque<>());
+            queue.addLast(alert);
+            while (queue.size() > queueSize) {
+                queue.pollFirst();
+            }
+        }
+    }
+
+    private SearchPercolator.Query toQuery(SavedSearch search) {
+        Long categoryId = search.getCategory() == null ? null : search.getCategory().getCategoryId();
+        return SearchPercolator.Query.of(search.getSavedSearchId(), search.getUser().getUserId(),
+                search.getKeywords(), categoryId, search.getMinPrice(), search.getMaxPrice(), search.getCondition(),
+                search.getLocation());
+    }
+
+    private SavedSearchDTO mapToDTO(SavedSearch search) {
+        SavedSearchDTO dto = new SavedSearchDTO();
+        dto.setSavedSearchId(search.getSavedSearchId());
+        dto.setUserId(search.getUser().getUserId());
+        dto.setKeywords(search.getKeywords());
+        dto.setCategoryId(search.getCategory() == null ? null : search.getCategory().getCategoryId());
+        dto.setMinPrice(search.getMinPrice());
+        dto.setMaxPrice(search.getMaxPrice());
+        dto.setCondition(search.getCondition());
+        dto.setLocation(search.getLocation());
+        return dto;
+    }
+}
@@ -0,0 +1,72 @@
+package com.spring_boot.uni_market.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Session keys handed out at login, "userId.signature" with an HMAC-SHA256 signature, so a per-user limit is
+ * keyed on something the server issued rather than an id the client picks. Without a configured secret a random
+ * one is made at startup, and keys from before a restart are no longer recognised (those clients are limited
+ * per IP only until they log in again).
+ */
+@Service
+public class SessionKeyService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    @Value("${app.session-key.secret:}")
+    private String configuredSecret;
+
+    private SecretKeySpec secret;
+
+    @PostConstruct
+    public void initSecret() {
+        byte[] bytes;
+        if (configuredSecret.isBlank()) {
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+        } else {
+            bytes = configuredSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        secret = new SecretKeySpec(bytes, ALGORITHM);
+    }
+
+    public String issue(Long userId) {
+        return userId + "." + sign(String.valueOf(userId));
+    }
+
+    // The user id the key was issued for, or null if it was not issued by this server
+    public String verify(String key) {
+        if (key == null) {
+            return null;
+        }
+        int dot = key.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        String userId = key.substring(0, dot);
+        byte[] expected = sign(userId).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = key.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual) ? userId : null;
+    }
+
+    private String sign(String userId) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secret);
+            byte[] signature = mac.doFinal(userId.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is unavailable", ex);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.repo.ProductRepo;
+import com.spring_boot.uni_market.repo.ProductSimilarityRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Offline "similar listings". Each product is reduced to a MinHash signature over word shingles of its title
+ * and description; LSH banding over the signatures plus a (category, price band) bucket give the candidate
+ * set, which is ranked by estimated Jaccard similarity, category match and price closeness. The top-N per
+ * product are written to product_similarity, so the request path is a single primary-key range read.
+ */
+@Slf4j
+@Service
+public class SimilarityService {
+
+    private static final int NUM_HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    private static final long MERSENNE_PRIME = (1L << 31) - 1;
+
+    private static final double TEXT_WEIGHT = 0.6;
+    private static final double CATEGORY_WEIGHT = 0.25;
+    private static final double PRICE_WEIGHT = 0.15;
+
+    @Autowired
+    private ProductRepo productRepo;
+    @Autowired
+    private ProductSimilarityRepo productSimilarityRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.similarity.neighbours:8}")
+    private int neighbours;
+    @Value("${app.similarity.parallelism:4}")
+    private int parallelism;
+    @Value("${app.similarity.rebuild-timeout-seconds:600}")
+    private int rebuildTimeoutSeconds;
+
+    // The rebuild replaces the whole table in one transaction so readers never see it half written; that grows
+    // with the catalog, so it gets its own timeout instead of spring.transaction.default-timeout
+    private TransactionTemplate rebuildTransaction;
+
+    private final long[] hashA = new long[NUM_HASHES];
+    private final long[] hashB = new long[NUM_HASHES];
+
+    // Swapped wholesale by the batch job; patched in place by incremental refreshes
+    private volatile Index index = new Index();
+    private final Set<Long> pendingRefresh = ConcurrentHashMap.newKeySet();
+
+    public SimilarityService() {
+        // Fixed seed: signatures must be comparable across the batch job and incremental refreshes
+        Random random = new Random(0x5eed);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            hashA[i] = 1 + random.nextInt(Integer.MAX_VALUE - 1);
+            hashB[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+    }
+
+    @PostConstruct
+    public void createRebuildTransaction() {
+        rebuildTransaction = new TransactionTemplate(transactionManager);
+        rebuildTransaction.setTimeout(rebuildTimeoutSeconds);
+    }
+
+    // Called for committed product writes (via the outbox); the recomputation itself is batched
+    public void requestRefresh(Long productId) {
+        pendingRefresh.add(productId);
+    }
+
+    @Transactional
+    public void onProductDeleted(Long productId) {
+        pendingRefresh.remove(productId);
+        Index current = index;
+        Features removed = current.features.get(productId);
+        if (removed != null) {
+            // Their lists lose this entry below; refill them from the remaining candidates
+            for (Long candidateId : current.candidates(removed)) {
+                if (!candidateId.equals(productId) && current.lists(candidateId, productId)) {
+                    pendingRefresh.add(candidateId);
+                }
+            }
+        }
+        current.remove(productId);
+        productSimilarityRepo.deleteByProduct(productId);
+    }
+
+    @Scheduled(initialDelayString = "${app.similarity.initial-delay-ms:60000}",
+            fixedDelayString = "${app.similarity.rebuild-interval-ms:86400000}")
+    public synchronized void rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<ProductRepo.SimilarityInput> inputs = productRepo.findAllSimilarityInputs();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Index rebuilt = new Index();
+            pool.submit(() -> inputs.parallelStream().map(this::features).forEach(rebuilt::add)).get();
+            List<Object[]> rows = pool.submit(() -> rebuilt.features.keySet().parallelStream()
+                    .flatMap(productId -> rankNeighbours(rebuilt, productId).stream())
+                    .toList()).get();
+
+            rebuildTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM product_similarity");
+                insertRows(rows);
+            });
+            index = rebuilt;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException ex) {
+            log.error("Similarity rebuild failed", ex.getCause());
+            return;
+        } finally {
+            pool.shutdown();
+        }
+        log.info("Similarity rebuild: {} products in {} ms", inputs.size(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${app.similarity.refresh-interval-ms:5000}")
+    public synchronized void refreshPending() {
+        if (pendingRefresh.isEmpty()) {
+            return;
+        }
+        List<Long> productIds = new ArrayList<>(pendingRefresh);
+        pendingRefresh.removeAll(productIds);
+
+        // A changed product also moves in its neighbours' lists, so those are re-ranked with it
+        Index current = index;
+        Set<Long> affected = new HashSet<>(productIds);
+        productRepo.findSimilarityInputs(productIds).forEach(input -> {
+            Long productId = input.getProductId();
+            Features before = current.features.get(productId);
+            if (before != null) {
+                // Lists holding the old version may now rank it lower or drop it
+                for (Long candidateId : current.candidates(before)) {
+                    if (!candidateId.equals(productId) && current.lists(candidateId, productId)) {
+                        affected.add(candidateId);
+                    }
+                }
+            }
+            current.remove(productId);
+            Features after = features(input);
+            current.add(after);
+            // Lists without it may now have room for the new version or rank it above their last entry
+            for (Long candidateId : current.candidates(after)) {
+                Features candidate = current.features.get(candidateId);
+                if (candidate != null && !candidateId.equals(productId)
+                        && current.ranksInto(candidateId, score(candidate, after), neighbours)) {
+                    affected.add(candidateId);
+                }
+            }
+        });
+        List<Object[]> rows = new ArrayList<>();
+        affected.forEach(productId -> {
+            if (current.features.containsKey(productId)) {
+                rows.addAll(rankNeighbours(current, productId));
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("DELETE FROM product_similarity WHERE product_id = ?",
+                    affected.stream().map(productId -> new Object[] { productId }).toList());
+            insertRows(rows);
+        });
+    }
+
+    private void insertRows(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO product_similarity (product_id, rank_position, similar_product_id, score) VALUES (?, ?, ?, ?)",
+                rows);
+    }
+
+    private List<Object[]> rankNeighbours(Index index, Long productId) {
+        Features self = index.features.get(productId);
+        PriorityQueue<Scored> best = new PriorityQueue<>((a, b) -> Double.compare(a.score(), b.score()));
+        for (Long candidateId : index.candidates(self)) {
+            Features candidate = index.features.get(candidateId);
+            if (candidate == null || candidateId.equals(productId)) {
+                continue;
+            }
+            best.add(new Scored(candidateId, score(self, candidate)));
+            if (best.size() > neighbours) {
+                best.poll();
+            }
+        }
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort((a, b) -> Double.compare(b.score(), a.score()));
+        index.ranked.put(productId, ranked);
+        List<Object[]> rows = new ArrayList<>(ranked.size());
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            rows.add(new Object[] { productId, rank, ranked.get(rank).productId(), ranked.get(rank).score() });
+        }
+        return rows;
+    }
+
+    private double score(Features a, Features b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a.signature()[i] == b.signature()[i]) {
+                equal++;
+            }
+        }
+        double text = a.hasText() && b.hasText() ? (double) equal / NUM_HASHES : 0;
+        double category = a.categoryId().equals(b.categoryId()) ? 1 : 0;
+        double price = a.price() > 0 && b.price() > 0 ? Math.min(a.price(), b.price()) / Math.max(a.price(), b.price()) : 0;
+        return TEXT_WEIGHT * text + CATEGORY_WEIGHT * category + PRICE_WEIGHT * price;
+    }
+
+    private Features features(ProductRepo.SimilarityInput input) {
+        Set<Integer> shingles = shingles(input.getTitle() + " " + (input.getDescription() == null ? "" : input.getDescription()));
+        long[] signature = new long[NUM_HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int shingle : shingles) {
+            long x = shingle & 0x7fffffffL;
+            for (int i = 0; i < NUM_HASHES; i++) {
+                long h = (hashA[i] * x + hashB[i]) % MERSENNE_PRIME;
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        double price = input.getPrice() == null ? 0 : input.getPrice().doubleValue();
+        return new Features(input.getProductId(), input.getCategoryId(), price, signature, !shingles.isEmpty());
+    }
+
+    // Word unigrams and bigrams; single characters are noise in short listing titles
+    private Set<Integer> shingles(String text) {
+        List<String> words = Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> word.length() > 1)
+                .toList();
+        Set<Integer> shingles = new HashSet<>();
+        for (int i = 0; i < words.size(); i++) {
+            shingles.add(words.get(i).hashCode());
+            if (i + 1 < words.size()) {
+                shingles.add((words.get(i) + " " + words.get(i + 1)).hashCode());
+            }
+        }
+        return shingles;
+    }
+
+    private record Features(Long productId, Long categoryId, double price, long[] signature, boolean hasText) {
+
+        // Power-of-two price bands within the category
+        long priceBucketKey() {
+            int band = price <= 0 ? -1 : 63 - Long.numberOfLeadingZeros((long) price + 1);
+            return (categoryId << 8) | (band & 0xff);
+        }
+
+        long bandKey(int band) {
+            long[] rows = Arrays.copyOfRange(signature, band * ROWS_PER_BAND, (band + 1) * ROWS_PER_BAND);
+            return ((long) band << 32) | (Arrays.hashCode(rows) & 0xffffffffL);
+        }
+    }
+
+    private record Scored(Long productId, double score) {
+    }
+
+    private static final class Index {
+        private final Map<Long, Features> features = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> lshBuckets = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> priceBuckets = new ConcurrentHashMap<>();
+        // Each product's current list, best first, as written to product_similarity
+        private final Map<Long, List<Scored>> ranked = new ConcurrentHashMap<>();
+
+        void add(Features f) {
+            features.put(f.productId(), f);
+            if (f.hasText()) {
+                for (int band = 0; band < BANDS; band++) {
+                    lshBuckets.computeIfAbsent(f.bandKey(band), key -> ConcurrentHashMap.newKeySet()).add(f.productId());
+                }
+            }
+            priceBuckets.computeIfAbsent(f.priceBucketKey(), key -> ConcurrentHashMap.newKeySet()).add(f.productId());
+        }
+
+        void remove(Long productId) {
+            ranked.remove(productId);
+            Features f = features.remove(productId);
+            if (f == null) {
+                return;
+            }
+            if (f.hasText()) {
+                for (int band = 0; band < BANDS; band++) {
+                    removeFrom(lshBuckets, f.bandKey(band), productId);
+                }
+            }
+            removeFrom(priceBuckets, f.priceBucketKey(), productId);
+        }
+
+        Collection<Long> candidates(Features f) {
+            Set<Long> candidates = new HashSet<>(priceBuckets.getOrDefault(f.priceBucketKey(), Set.of()));
+            if (f.hasText()) {
+                for (int band = 0; band < BANDS; band++) {
+                    candidates.addAll(lshBuckets.getOrDefault(f.bandKey(band), Set.of()));
+                }
+            }
+            return candidates;
+        }
+
+        boolean lists(Long productId, Long neighbourId) {
+            return ranked.getOrDefault(productId, List.of()).stream()
+                    .anyMatch(scored -> scored.productId().equals(neighbourId));
+        }
+
+        // Whether a neighbour scoring this would get into the product's list
+        boolean ranksInto(Long productId, double score, int neighbours) {
+            List<Scored> list = ranked.get(productId);
+            return list == null || list.size() < neighbours || score > list.get(list.size() - 1).score();
+        }
+
+        private static void removeFrom(Map<Long, Set<Long>> buckets, long key, Long productId) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(productId);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.CategoryDTO;
+import com.spring_boot.uni_market.dto.ProductImageDTO;
+import com.spring_boot.uni_market.dto.SyncChangeDTO;
+import com.spring_boot.uni_market.dto.SyncResponseDTO;
+import com.spring_boot.uni_market.entity.Category;
+import com.spring_boot.uni_market.entity.ChangeLog;
+import com.spring_boot.uni_market.entity.ProductImage;
+import com.spring_boot.uni_market.enums.ChangeEntityType;
+import com.spring_boot.uni_market.enums.ChangeOperation;
+import com.spring_boot.uni_market.repo.CategoryRepo;
+import com.spring_boot.uni_market.repo.ChangeLogRepo;
+import com.spring_boot.uni_market.repo.ProductImageRepo;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class SyncService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private ChangeLogRepo changeLogRepo;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductImageRepo productImageRepo;
+    @Autowired
+    private CategoryRepo categoryRepo;
+
+    // Served in sync_seq (commit) order, so a row committing late is never left behind the client's cursor.
+    // Rows are served from ChangeLogSequencer's next poll after their commit.
+    public SyncResponseDTO getChanges(Long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<ChangeLog> rows = changeLogRepo.findSyncedSince(since, PageRequest.of(0, pageSize));
+
+        // Collapse repeated changes to the same entity; only its latest state matters to the client
+        Map<String, ChangeLog> latest = new LinkedHashMap<>();
+        for (ChangeLog row : rows) {
+            String key = row.getEntityType() + ":" + row.getEntityId();
+            latest.remove(key);
+            latest.put(key, row);
+        }
+
+        Map<Long, Object> products = new HashMap<>();
+        productService.getProductsByIds(idsToLoad(latest, ChangeEntityType.PRODUCT))
+                .forEach(product -> products.put(product.getProductId(), product));
+        Map<Long, Object> images = new HashMap<>();
+        productImageRepo.findAllById(idsToLoad(latest, ChangeEntityType.PRODUCT_IMAGE))
+                .forEach(image -> images.put(image.getImageId(), mapImage(image)));
+        Map<Long, Object> categories = new HashMap<>();
+        categoryRepo.findAllById(idsToLoad(latest, ChangeEntityType.CATEGORY))
+                .forEach(category -> categories.put(category.getCategoryId(), mapCategory(category)));
+
+        List<SyncChangeDTO> changes = new ArrayList<>();
+        for (ChangeLog row : latest.values()) {
+            Map<Long, Object> current = switch (row.getEntityType()) {
+                case PRODUCT -> products;
+                case PRODUCT_IMAGE -> images;
+                case CATEGORY -> categories;
+            };
+            Object data = row.getOperation() == ChangeOperation.UPSERT ? current.get(row.getEntityId()) : null;
+
+            SyncChangeDTO change = new SyncChangeDTO();
+            change.setSeq(row.getSyncSeq());
+            change.setEntityType(row.getEntityType());
+            change.setEntityId(row.getEntityId());
+            // An upsert whose row is already gone was deleted later in the log; report it as a tombstone now
+            change.setOperation(data == null ? ChangeOperation.DELETE : ChangeOperation.UPSERT);
+            change.setData(data);
+            changes.add(change);
+        }
+
+        SyncResponseDTO response = new SyncResponseDTO();
+        response.setChanges(changes);
+        response.setNextSince(rows.isEmpty() ? since : rows.get(rows.size() - 1).getSyncSeq());
+        response.setHasMore(rows.size() == pageSize);
+        return response;
+    }
+
+    // For a client that loads the full catalog instead of replaying the log: read this first, then sync from it.
+    // Changes already in the catalog but numbered later are replayed, which upserts and tombstones tolerate.
+    public long getHead() {
+        return changeLogRepo.findLastSyncSeq();
+    }
+
+    private Set<Long> idsToLoad(Map<String, ChangeLog> latest, ChangeEntityType type) {
+        return latest.values().stream()
+                .filter(row -> row.getEntityType() == type && row.getOperation() == ChangeOperation.UPSERT)
+                .map(ChangeLog::getEntityId)
+                .collect(Collectors.toSet());
+    }
+
+    private ProductImageDTO mapImage(ProductImage image) {
+        ProductImageDTO dto = new ProductImageDTO();
+        dto.setImageId(image.getImageId());
+        dto.setProductId(image.getProduct().getProductId());
+        dto.setImageUrl(image.getImageUrl());
+        dto.setPrimary(image.isPrimary());
+        return dto;
+    }
+
+    private CategoryDTO mapCategory(Category category) {
+        CategoryDTO dto = new CategoryDTO();
+        dto.setCategoryId(category.getCategoryId());
+        dto.setName(category.getName());
+        dto.setParentId(category.getParent() == null ? null : category.getParent().getCategoryId());
+        return dto;
+    }
+}
@@ -0,0 +1,268 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.ProductSummaryDTO;
+import com.spring_boot.uni_market.dto.TrendingProductDTO;
+import com.spring_boot.uni_market.entity.TrendingScore;
+import com.spring_boot.uni_market.repo.TrendingScoreRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Time-decayed popularity kept entirely in memory.
+ *
+ * Scores use forward decay: an event at time t adds weight * e^(lambda * (t - landmark)), so stored scores
+ * only ever grow and the top-K of a board can be maintained incrementally (a product outside the top-K can
+ * only enter by overtaking the current minimum). Reads scale back by e^(-lambda * (now - landmark)).
+ */
+@Service
+public class TrendingService {
+
+    // Category ids come from an identity column and start at 1, so 0 is free for the all-categories board
+    private static final long ALL_CATEGORIES = 0L;
+    private static final double PRUNE_BELOW = 0.01;
+
+    @Autowired
+    private TrendingScoreRepo trendingScoreRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.trending.top-k:20}")
+    private int topK;
+    @Value("${app.trending.half-life-hours:24}")
+    private double halfLifeHours;
+    @Value("${app.trending.view-weight:1.0}")
+    private double viewWeight;
+    @Value("${app.trending.conversation-weight:5.0}")
+    private double conversationWeight;
+
+    private final ConcurrentHashMap<Long, Board> boards = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ProductSummaryDTO> summaries = new ConcurrentHashMap<>();
+
+    // The summary is only built when trending does not hold one for the product yet; null means the listing is
+    // not available, and views of it do not count
+    public void recordView(Long productId, Supplier<ProductSummaryDTO> summary) {
+        ProductSummaryDTO product = summaries.get(productId);
+        if (product == null) {
+            product = summary.get();
+        }
+        if (product != null) {
+            record(product, viewWeight);
+        }
+    }
+
+    public void recordConversation(ProductSummaryDTO product) {
+        record(product, conversationWeight);
+    }
+
+    public void onProductUpdated(ProductSummaryDTO product) {
+        ProductSummaryDTO previous = summaries.get(product.getProductId());
+        if (previous == null) {
+            return;
+        }
+        summaries.put(product.getProductId(), product);
+        if (!previous.getCategoryId().equals(product.getCategoryId())) {
+            long now = System.currentTimeMillis();
+            double score = board(previous.getCategoryId()).remove(product.getProductId(), now);
+            board(product.getCategoryId()).add(product.getProductId(), score, now);
+        }
+    }
+
+    // Deleted, sold, reserved or hidden: the listing leaves both boards until it is available and active again
+    public void onProductWithdrawn(Long productId) {
+        ProductSummaryDTO previous = summaries.remove(productId);
+        if (previous != null) {
+            long now = System.currentTimeMillis();
+            board(previous.getCategoryId()).remove(productId, now);
+            board(ALL_CATEGORIES).remove(productId, now);
+        }
+    }
+
+    public List<TrendingProductDTO> getTrending(Long categoryId) {
+        Board board = boards.get(categoryId == null ? ALL_CATEGORIES : categoryId);
+        if (board == null) {
+            return List.of();
+        }
+        Ranking ranking = board.ranking;
+        double scale = Math.exp(-board.lambda * (System.currentTimeMillis() - ranking.landmark()));
+        List<TrendingProductDTO> result = new ArrayList<>(ranking.entries().size());
+        for (Ranked entry : ranking.entries()) {
+            ProductSummaryDTO summary = summaries.get(entry.productId());
+            if (summary != null) {
+                result.add(new TrendingProductDTO(summary, entry.rawScore() * scale));
+            }
+        }
+        return result;
+    }
+
+    // Warm restart: re-seed boards from the last snapshot, decayed for the time the app was down
+    public void restore(List<TrendingScore> snapshot, List<ProductSummaryDTO> products) {
+        Map<Long, ProductSummaryDTO> byId = new HashMap<>();
+        products.forEach(product -> byId.put(product.getProductId(), product));
+        long now = System.currentTimeMillis();
+        for (TrendingScore row : snapshot) {
+            ProductSummaryDTO product = byId.get(row.getProductId());
+            if (product == null) {
+                continue;
+            }
+            long ageMillis = Duration.between(row.getSnapshotAt(), LocalDateTime.now()).toMillis();
+            double score = row.getScore() * Math.exp(-lambda() * Math.max(0, ageMillis));
+            summaries.put(product.getProductId(), product);
+            board(product.getCategoryId()).add(product.getProductId(), score, now);
+            board(ALL_CATEGORIES).add(product.getProductId(), score, now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.snapshot-interval-ms:300000}",
+            initialDelayString = "${app.trending.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        long now = System.currentTimeMillis();
+        LocalDateTime snapshotAt = LocalDateTime.now();
+
+        // Every product in the global top-K is also in its category's top-K, so category boards suffice
+        List<TrendingScore> rows = new ArrayList<>();
+        boards.forEach((categoryId, board) -> {
+            board.prune(now).forEach(productId -> {
+                if (!categoryId.equals(ALL_CATEGORIES)) {
+                    summaries.remove(productId);
+                }
+            });
+            if (!categoryId.equals(ALL_CATEGORIES)) {
+                board.decayedTop(now).forEach((productId, score) ->
+                        rows.add(new TrendingScore(productId, categoryId, score, snapshotAt)));
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            trendingScoreRepo.deleteAllInBatch();
+            trendingScoreRepo.saveAll(rows);
+        });
+    }
+
+    private void record(ProductSummaryDTO product, double weight) {
+        long now = System.currentTimeMillis();
+        summaries.put(product.getProductId(), product);
+        board(product.getCategoryId()).add(product.getProductId(), weight, now);
+        board(ALL_CATEGORIES).add(product.getProductId(), weight, now);
+    }
+
+    private Board board(Long categoryId) {
+        return boards.computeIfAbsent(categoryId, id -> new Board(topK, lambda()));
+    }
+
+    private double lambda() {
+        return Math.log(2) / (halfLifeHours * 3_600_000d);
+    }
+
+    private record Ranked(long productId, double rawScore) {
+    }
+
+    private record Ranking(List<Ranked> entries, long landmark) {
+    }
+
+    private static final class Board {
+
+        private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::rawScore).reversed()
+                .thenComparingLong(Ranked::productId);
+        // Rebase before e^(lambda * age) gets anywhere near double overflow
+        private static final double MAX_EXPONENT = 50;
+
+        private final int capacity;
+        private final double lambda;
+        private final Map<Long, Double> scores = new HashMap<>();
+        private final TreeSet<Ranked> top = new TreeSet<>(ORDER);
+        private final Map<Long, Ranked> topIndex = new HashMap<>();
+        private long landmark = System.currentTimeMillis();
+        // Immutable, republished on every top-K change so readers never take the lock
+        private volatile Ranking ranking = new Ranking(List.of(), landmark);
+
+        private Board(int capacity, double lambda) {
+            this.capacity = capacity;
+            this.lambda = lambda;
+        }
+
+        synchronized void add(long productId, double weight, long now) {
+            if (lambda * (now - landmark) > MAX_EXPONENT) {
+                rebase(now);
+            }
+            double raw = scores.merge(productId, weight * Math.exp(lambda * (now - landmark)), Double::sum);
+            Ranked current = topIndex.get(productId);
+            if (current != null) {
+                top.remove(current);
+            } else if (top.size() >= capacity) {
+                if (raw <= top.last().rawScore()) {
+                    return;
+                }
+                topIndex.remove(top.pollLast().productId());
+            }
+            Ranked updated = new Ranked(productId, raw);
+            top.add(updated);
+            topIndex.put(productId, updated);
+            publish();
+        }
+
+        // Returns the decayed score the product had, so it can be carried to another board
+        synchronized double remove(long productId, long now) {
+            Double raw = scores.remove(productId);
+            Ranked current = topIndex.remove(productId);
+            if (current != null) {
+                top.remove(current);
+                publish();
+            }
+            return raw == null ? 0 : raw * Math.exp(-lambda * (now - landmark));
+        }
+
+        synchronized Map<Long, Double> decayedTop(long now) {
+            double scale = Math.exp(-lambda * (now - landmark));
+            Map<Long, Double> result = new HashMap<>();
+            top.forEach(entry -> result.put(entry.productId(), entry.rawScore() * scale));
+            return result;
+        }
+
+        // Drops long-cold products outside the top-K so the score map stays bounded
+        synchronized List<Long> prune(long now) {
+            double threshold = PRUNE_BELOW * Math.exp(lambda * (now - landmark));
+            List<Long> removed = new ArrayList<>();
+            scores.entrySet().removeIf(entry -> {
+                boolean cold = entry.getValue() < threshold && !topIndex.containsKey(entry.getKey());
+                if (cold) {
+                    removed.add(entry.getKey());
+                }
+                return cold;
+            });
+            return removed;
+        }
+
+        private void rebase(long now) {
+            double scale = Math.exp(-lambda * (now - landmark));
+            scores.replaceAll((productId, raw) -> raw * scale);
+            List<Ranked> rescaled = new ArrayList<>();
+            top.forEach(entry -> rescaled.add(new Ranked(entry.productId(), entry.rawScore() * scale)));
+            top.clear();
+            topIndex.clear();
+            rescaled.forEach(entry -> {
+                top.add(entry);
+                topIndex.put(entry.productId(), entry);
+            });
+            landmark = now;
+            publish();
+        }
+
+        private void publish() {
+            ranking = new Ranking(List.copyOf(top), landmark);
+        }
+    }
+}
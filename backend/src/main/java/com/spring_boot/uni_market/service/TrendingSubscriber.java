@@ -0,0 +1,54 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.DomainEvent;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.enums.ProductStatus;
+import com.spring_boot.uni_market.repo.ProductRepo;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@Service
+@Transactional
+public class TrendingSubscriber implements DomainEventSubscriber {
+
+    @Autowired
+    private ProductRepo productRepo;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private TrendingService trendingService;
+
+    @Override
+    public Set<DomainEventType> getEventTypes() {
+        return EnumSet.of(DomainEventType.PRODUCT_UPDATED, DomainEventType.PRODUCT_DELETED,
+                DomainEventType.MESSAGE_SENT);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        switch (event.getType()) {
+            case PRODUCT_UPDATED -> productRepo.findById(event.getAggregateId()).ifPresent(product -> {
+                if (product.getStatus() == ProductStatus.AVAILABLE) {
+                    trendingService.onProductUpdated(productService.getProductSummary(product));
+                } else {
+                    trendingService.onProductWithdrawn(product.getProductId());
+                }
+            });
+            case PRODUCT_DELETED -> trendingService.onProductWithdrawn(event.getAggregateId());
+            case MESSAGE_SENT -> {
+                // A new enquiry is a much stronger interest signal than a view
+                if (event.getFlag("newConversation")) {
+                    productRepo.findById(event.getLong("productId"))
+                            .filter(product -> product.getStatus() == ProductStatus.AVAILABLE)
+                            .ifPresent(product -> trendingService.recordConversation(productService.getProductSummary(product)));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
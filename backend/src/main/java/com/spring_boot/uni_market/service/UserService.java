@@ -4,14 +4,19 @@ import com.spring_boot.uni_market.dto.LoginDTO;
 import com.spring_boot.uni_market.dto.UserRegisterDTO;
 import com.spring_boot.uni_market.entity.User;
 import com.spring_boot.uni_market.entity.UserProfile;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.enums.Role;
 import com.spring_boot.uni_market.enums.UserStatus;
 import com.spring_boot.uni_market.repo.UserProfileRepo;
 import com.spring_boot.uni_market.repo.UserRepo;
+import com.spring_boot.uni_market.utils.ETags;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -22,6 +27,10 @@ public class UserService {
     private UserRepo userRepo;
     @Autowired
     private UserProfileRepo userProfileRepo;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private UserSummaryCache userSummaryCache;
 
     public String registerUser(UserRegisterDTO dto) {
         if (userRepo.existsByEmail(dto.getEmail())) {
@@ -45,6 +54,7 @@ public class UserService {
         profile.setBatch(dto.getBatch());
 
         userProfileRepo.save(profile);
+        userSummaryCache.invalidate(savedUser.getUserId());
 
         return "User Registered Successfully with ID: " + savedUser.getUserId();
     }
@@ -62,15 +72,30 @@ public class UserService {
         throw new RuntimeException("User not found");
     }
 
+    public boolean isAdmin(Long userId) {
+        User user = userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        return user.getRole() == Role.ADMIN;
+    }
+
     public UserProfile getUserProfile(Long userId) {
         User user = userRepo.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
         return userProfileRepo.findByUser(user).orElseThrow(() -> new RuntimeException("Profile not found"));
     }
 
-    public String updateProfile(UserProfile updatedProfile) {
+    public String getProfileETag(Long userId) {
+        Long version = userProfileRepo.findVersionByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Profile not found"));
+        return profileETag(userId, version);
+    }
+
+    public String updateProfile(UserProfile updatedProfile, String ifMatch) {
         UserProfile existingProfile = userProfileRepo.findById(updatedProfile.getUserId())
                 .orElseThrow(() -> new RuntimeException("Profile not found"));
 
+        if (!ETags.matches(ifMatch, profileETag(existingProfile.getUserId(), existingProfile.getVersion()))) {
+            throw new OptimisticLockingFailureException("Profile has been modified since it was retrieved");
+        }
+
         // Update only relevant fields
         existingProfile.setFullName(updatedProfile.getFullName());
         existingProfile.setPhone(updatedProfile.getPhone());
@@ -80,6 +105,12 @@ public class UserService {
         existingProfile.setAvatarUrl(updatedProfile.getAvatarUrl());
 
         userProfileRepo.save(existingProfile);
+        userSummaryCache.invalidate(existingProfile.getUserId());
+        outboxService.publish(DomainEventType.PROFILE_UPDATED, existingProfile.getUserId(), Map.of());
         return "Profile Updated Successfully";
     }
+
+    private String profileETag(Long userId, long version) {
+        return "u" + userId + "-" + version;
+    }
 }
@@ -0,0 +1,154 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.dto.CacheStatsDTO;
+import com.spring_boot.uni_market.dto.DomainEvent;
+import com.spring_boot.uni_market.dto.UserSummaryDTO;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.repo.UserProfileRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Near-cache of the profile fields shown next to listings and conversations (name, phone, avatar). Misses
+ * are loaded together in one IN query; users without a profile are cached too, so they are not re-queried
+ * on every listing. Entries are dropped when a profile is updated and expire after a TTL as a backstop.
+ */
+@Service
+public class UserSummaryCache implements DomainEventSubscriber {
+
+    @Autowired
+    private UserProfileRepo userProfileRepo;
+
+    @Value("${app.user-cache.max-size:10000}")
+    private int maxSize;
+    @Value("${app.user-cache.ttl-minutes:30}")
+    private long ttlMinutes;
+    @Value("${app.user-cache.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadQueries = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public Optional<UserSummaryDTO> get(Long userId) {
+        return Optional.ofNullable(getAll(List.of(userId)).get(userId));
+    }
+
+    // Users without a profile are absent from the result
+    public Map<Long, UserSummaryDTO> getAll(Collection<Long> userIds) {
+        Map<Long, UserSummaryDTO> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        long now = System.currentTimeMillis();
+        for (Long userId : userIds) {
+            if (result.containsKey(userId) || missing.contains(userId)) {
+                continue;
+            }
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                if (entry.summary() != null) {
+                    result.put(userId, entry.summary());
+                }
+            } else {
+                misses.increment();
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        // An invalidation while the query runs may mean we read the old row; serve it, but do not cache it
+        long invalidationsBefore = invalidations.get();
+        loadQueries.increment();
+        Map<Long, UserSummaryDTO> loaded = new HashMap<>();
+        userProfileRepo.findAllById(missing).forEach(profile -> loaded.put(profile.getUserId(),
+                new UserSummaryDTO(profile.getUserId(), profile.getFullName(), profile.getPhone(), profile.getAvatarUrl())));
+        result.putAll(loaded);
+
+        if (invalidations.get() == invalidationsBefore) {
+            long positiveExpiry = now + ttlMinutes * 60_000;
+            long negativeExpiry = now + negativeTtlSeconds * 1_000;
+            for (Long userId : missing) {
+                UserSummaryDTO summary = loaded.get(userId);
+                entries.put(userId, new Entry(summary, summary != null ? positiveExpiry : negativeExpiry));
+            }
+            evictIfFull();
+        }
+        return result;
+    }
+
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        entries.remove(userId);
+    }
+
+    public CacheStatsDTO getStats() {
+        CacheStatsDTO stats = new CacheStatsDTO();
+        stats.setSize(entries.size());
+        stats.setMaxSize(maxSize);
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setLoadQueries(loadQueries.sum());
+        stats.setEvictions(evictions.sum());
+        stats.setInvalidations(invalidations.get());
+        long lookups = stats.getHits() + stats.getMisses();
+        stats.setHitRate(lookups == 0 ? 0 : (double) stats.getHits() / lookups);
+        return stats;
+    }
+
+    // UserService invalidates inside its transaction; this second pass after commit drops anything a
+    // concurrent reader re-cached from the not yet committed row
+    @Override
+    public Set<DomainEventType> getEventTypes() {
+        return EnumSet.of(DomainEventType.PROFILE_UPDATED);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        invalidate(event.getAggregateId());
+    }
+
+    // Expired entries go first; beyond that, arbitrary ones until there is 10% headroom again
+    private void evictIfFull() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int target = maxSize - maxSize / 10;
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && entries.size() > target) {
+            if (iterator.next().getValue().expiresAt() <= now) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+        iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && entries.size() > target) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    // summary is null for a user known to have no profile
+    private record Entry(UserSummaryDTO summary, long expiresAt) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.spring_boot.uni_market.service;
+
+import com.spring_boot.uni_market.repo.ProductRepo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+public class ViewCounterService {
+
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    // An entry that had nothing to flush is removed, so the map only holds recently viewed products
+    private final ConcurrentHashMap<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    // Adders removed by the previous flush: a viewer that fetched one just before its removal counts into it
+    // afterwards, so they are drained once more a flush interval later instead of losing that view
+    private final ConcurrentLinkedQueue<Map.Entry<Long, LongAdder>> retired = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ProductRepo productRepo;
+
+    public void recordView(Long productId) {
+        pendingViews.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    public long getViews(Long productId) {
+        long flushed = productRepo.findViewCountById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        LongAdder pending = pendingViews.get(productId);
+        return flushed + (pending == null ? 0 : pending.sum());
+    }
+
+    public long getTotalViews() {
+        long pending = pendingViews.values().stream().mapToLong(LongAdder::sum).sum();
+        return productRepo.sumViewCounts() + pending;
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:10000}")
+    public void flush() {
+        // Sorted by id so concurrent flushes (scheduled + shutdown) lock rows in the same order
+        TreeMap<Long, Long> deltas = new TreeMap<>();
+        List<Map.Entry<Long, LongAdder>> retiring = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry = retired.poll(); entry != null; entry = retired.poll()) {
+            long late = entry.getValue().sumThenReset();
+            if (late > 0) {
+                deltas.merge(entry.getKey(), late, Long::sum);
+            }
+        }
+        pendingViews.forEach((productId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.merge(productId, delta, Long::sum);
+            } else if (pendingViews.remove(productId, adder)) {
+                retiring.add(Map.entry(productId, adder));
+            }
+        });
+        retired.addAll(retiring);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, entries.size()));
+            try {
+                writeChunk(chunk);
+            } catch (RuntimeException ex) {
+                // Keep the counts for the next attempt rather than dropping them
+                chunk.forEach(entry -> recordViews(entry.getKey(), entry.getValue()));
+                log.warn("View count flush failed, will retry", ex);
+            }
+        }
+    }
+
+    // The second pass drains the adders the first one removed
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        flush();
+    }
+
+    // One UPDATE per chunk: view_count + CASE product_id WHEN ? THEN ? ... END
+    private void writeChunk(List<Map.Entry<Long, Long>> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE product SET view_count = view_count + CASE product_id");
+        List<Object> args = new ArrayList<>(chunk.size() * 3);
+        for (Map.Entry<Long, Long> entry : chunk) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+        sql.append(" ELSE 0 END WHERE product_id IN (");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(chunk.get(i).getKey());
+        }
+        sql.append(")");
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private void recordViews(Long productId, long views) {
+        pendingViews.computeIfAbsent(productId, id -> new LongAdder()).add(views);
+    }
+}
@@ -0,0 +1,114 @@
+package com.spring_boot.uni_market.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BK-tree over 64-bit hashes under Hamming distance. A node's children are keyed by their distance to it, so
+ * by the triangle inequality a radius-r search only descends into children whose key is within r of the
+ * query's distance to the node. Nodes live in parallel primitive arrays (about 20 bytes each) with children
+ * as sibling lists, which keeps a million hashes in a few tens of megabytes. Equal hashes chain as
+ * distance-0 children. Removal only clears the value; the node keeps routing searches until a rebuild.
+ * Not thread-safe.
+ */
+public final class BkTree<T> {
+
+    private static final int NONE = -1;
+
+    private long[] hashes = new long[1024];
+    private int[] firstChild = new int[1024];
+    private int[] nextSibling = new int[1024];
+    private byte[] keyToParent = new byte[1024];
+    private Object[] values = new Object[1024];
+    private int size;
+    private int live;
+
+    public record Match<T>(T value, int distance) {
+    }
+
+    // Returns the node id, which remove takes
+    public int add(long hash, T value) {
+        int node = newNode(hash, value);
+        if (node == 0) {
+            return node;
+        }
+        int current = 0;
+        while (true) {
+            int distance = Long.bitCount(hashes[current] ^ hash);
+            int child = childAt(current, distance);
+            if (child == NONE) {
+                keyToParent[node] = (byte) distance;
+                nextSibling[node] = firstChild[current];
+                firstChild[current] = node;
+                return node;
+            }
+            current = child;
+        }
+    }
+
+    public void remove(int node) {
+        if (values[node] != null) {
+            values[node] = null;
+            live--;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Match<T>> search(long hash, int maxDistance) {
+        List<Match<T>> matches = new ArrayList<>();
+        if (size == 0) {
+            return matches;
+        }
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int distance = Long.bitCount(hashes[node] ^ hash);
+            if (distance <= maxDistance && values[node] != null) {
+                matches.add(new Match<>((T) values[node], distance));
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (Math.abs(keyToParent[child] - distance) <= maxDistance) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = child;
+                }
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return live;
+    }
+
+    private int childAt(int node, int distance) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (keyToParent[child] == distance) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    private int newNode(long hash, T value) {
+        if (size == hashes.length) {
+            int capacity = size * 2;
+            hashes = Arrays.copyOf(hashes, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            keyToParent = Arrays.copyOf(keyToParent, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        int node = size++;
+        hashes[node] = hash;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        values[node] = value;
+        live++;
+        return node;
+    }
+}
@@ -0,0 +1,22 @@
+package com.spring_boot.uni_market.utils;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    // Strong comparison as required for If-Match (RFC 9110 13.1.1); weak validators never match
+    public static boolean matches(String ifMatchHeader, String currentTag) {
+        if (ifMatchHeader == null || ifMatchHeader.isBlank()) {
+            return true;
+        }
+        String quoted = "\"" + currentTag + "\"";
+        for (String candidate : ifMatchHeader.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,190 @@
+package com.spring_boot.uni_market.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Uniform grid over latitude/longitude for k-nearest queries at campus scale. Keys are grouped by exact
+ * location first, as listings are pinned to a handful of campus places: each location is one site, measured
+ * once per query however many keys it holds. Sites are bucketed into square cells of a fixed number of
+ * degrees; a query scans rings of cells outwards from its own cell, skips cells that cannot beat the k-th
+ * match so far, and stops once the next ring cannot either or lies beyond the radius. A query touches at most
+ * (radius / cell size)^2 cells, or every site if fewer cells are occupied, plus at most limit keys per site.
+ * Distances are flat-earth, which is exact to well under a metre over a campus; the grid does not wrap at
+ * the antimeridian. Not thread-safe.
+ */
+public final class GeoGrid<K> {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+
+    private final double cellDegrees;
+    private final Map<Long, List<Site<K>>> cells = new HashMap<>();
+    private final Map<Location, Site<K>> sites = new HashMap<>();
+    private final Map<K, Site<K>> points = new HashMap<>();
+
+    public record Match<K>(K key, double distanceMeters) {
+    }
+
+    private record Location(double latitude, double longitude) {
+    }
+
+    // Keys in insertion order, so ties at one site resolve the same way on every query
+    private record Site<K>(Location location, long cell, Set<K> keys) {
+    }
+
+    public GeoGrid(double cellMeters) {
+        this.cellDegrees = cellMeters / METERS_PER_DEGREE;
+    }
+
+    // Adds the key, or moves it if it is already present
+    public void put(K key, double latitude, double longitude) {
+        remove(key);
+        Site<K> site = sites.computeIfAbsent(new Location(latitude, longitude), location -> {
+            Site<K> created = new Site<>(location, cellOf(row(latitude), column(longitude)), new LinkedHashSet<>());
+            cells.computeIfAbsent(created.cell(), cell -> new ArrayList<>()).add(created);
+            return created;
+        });
+        site.keys().add(key);
+        points.put(key, site);
+    }
+
+    public void remove(K key) {
+        Site<K> site = points.remove(key);
+        if (site == null) {
+            return;
+        }
+        site.keys().remove(key);
+        if (!site.keys().isEmpty()) {
+            return;
+        }
+        sites.remove(site.location());
+        List<Site<K>> cell = cells.get(site.cell());
+        cell.remove(site);
+        if (cell.isEmpty()) {
+            cells.remove(site.cell());
+        }
+    }
+
+    public void clear() {
+        cells.clear();
+        sites.clear();
+        points.clear();
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    // Up to limit points within radiusMeters, nearest first
+    public List<Match<K>> nearest(double latitude, double longitude, double radiusMeters, int limit) {
+        if (limit <= 0 || points.isEmpty()) {
+            return List.of();
+        }
+        // Longest-first, so the head is the match to drop when a closer one turns up
+        PriorityQueue<Match<K>> best = new PriorityQueue<>(
+                (a, b) -> Double.compare(b.distanceMeters(), a.distanceMeters()));
+        // Distances are measured flat around the query, where a cell is narrower east-west than north-south
+        double metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+        double cellMeters = cellDegrees * metersPerDegreeLongitude;
+        int maxRing = (int) Math.ceil(radiusMeters / cellMeters) + 1;
+        if ((2L * maxRing + 1) * (2L * maxRing + 1) > cells.size()) {
+            // Fewer occupied cells than the rings would visit: check every site instead
+            for (Site<K> site : sites.values()) {
+                offer(best, site, distance(site, latitude, longitude, metersPerDegreeLongitude), radiusMeters,
+                        limit);
+            }
+            return sorted(best);
+        }
+        int row = row(latitude);
+        int column = column(longitude);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int dr = -ring; dr <= ring; dr++) {
+                // Top and bottom rows of the ring in full, the sides only at its two edge columns
+                int step = dr == -ring || dr == ring ? 1 : Math.max(1, 2 * ring);
+                for (int dc = -ring; dc <= ring; dc += step) {
+                    List<Site<K>> cell = cells.get(cellOf(row + dr, column + dc));
+                    if (cell == null) {
+                        continue;
+                    }
+                    // Skip the whole cell when even its nearest edge is further than the worst match kept
+                    double bound = best.size() < limit ? radiusMeters : best.peek().distanceMeters();
+                    double edgeLatitude = Math.max((row + dr) * cellDegrees,
+                            Math.min(latitude, (row + dr + 1) * cellDegrees));
+                    double edgeLongitude = Math.max((column + dc) * cellDegrees,
+                            Math.min(longitude, (column + dc + 1) * cellDegrees));
+                    if (flatDistance(edgeLatitude - latitude, edgeLongitude - longitude,
+                            metersPerDegreeLongitude) > bound) {
+                        continue;
+                    }
+                    for (Site<K> site : cell) {
+                        offer(best, site, distance(site, latitude, longitude, metersPerDegreeLongitude),
+                                radiusMeters, limit);
+                    }
+                }
+            }
+            // Anything in the next ring is at least `ring` whole cells away from the query
+            if (best.size() == limit && best.peek().distanceMeters() <= ring * cellMeters) {
+                break;
+            }
+        }
+        return sorted(best);
+    }
+
+    // Flat-earth distance with longitude scaled at the first point; no trigonometry per point
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        return flatDistance(lat2 - lat1, lng2 - lng1, METERS_PER_DEGREE * Math.cos(Math.toRadians(lat1)));
+    }
+
+    // Every key at a site is the same distance away, so the first one that cannot get in ends the site
+    private static <K> void offer(PriorityQueue<Match<K>> best, Site<K> site, double distance, double radiusMeters,
+            int limit) {
+        if (distance > radiusMeters) {
+            return;
+        }
+        for (K key : site.keys()) {
+            if (best.size() < limit) {
+                best.add(new Match<>(key, distance));
+            } else if (distance < best.peek().distanceMeters()) {
+                best.poll();
+                best.add(new Match<>(key, distance));
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double distance(Site<?> site, double latitude, double longitude, double metersPerDegreeLongitude) {
+        return flatDistance(site.location().latitude() - latitude, site.location().longitude() - longitude,
+                metersPerDegreeLongitude);
+    }
+
+    private static <K> List<Match<K>> sorted(PriorityQueue<Match<K>> best) {
+        List<Match<K>> result = new ArrayList<>(best);
+        result.sort((a, b) -> Double.compare(a.distanceMeters(), b.distanceMeters()));
+        return result;
+    }
+
+    private static double flatDistance(double dLatitude, double dLongitude, double metersPerDegreeLongitude) {
+        double north = dLatitude * METERS_PER_DEGREE;
+        double east = dLongitude * metersPerDegreeLongitude;
+        return Math.sqrt(north * north + east * east);
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long cellOf(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+}
@@ -0,0 +1,130 @@
+package com.spring_boot.uni_market.utils;
+
+import com.spring_boot.uni_market.dto.ProductDTO;
+import com.spring_boot.uni_market.enums.ProductCondition;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Stored queries indexed so a listing can be run against them, percolator style. A query with keywords is filed
+ * under one of its keywords (all must match anyway), so a listing only visits queries anchored on words it
+ * actually contains. Keyword-less queries are filed per category, ordered by max price, so a listing only
+ * visits those whose budget it fits. Safe for concurrent adds, removes and matches.
+ */
+public final class SearchPercolator {
+
+    // Category ids start at 1; 0 files queries that accept any category
+    private static final long ANY_CATEGORY = 0L;
+
+    private final Map<Long, Query> queries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> byKeyword = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableMap<BigDecimal, Set<Long>>> byCategoryAndBudget = new ConcurrentHashMap<>();
+
+    public record Query(Long id, Long userId, Set<String> keywords, String anchor, Long categoryId,
+            BigDecimal minPrice, BigDecimal maxPrice, ProductCondition condition, String location) {
+
+        public static Query of(Long id, Long userId, String keywords, Long categoryId, BigDecimal minPrice,
+                BigDecimal maxPrice, ProductCondition condition, String location) {
+            Set<String> words = keywords == null ? Set.of() : tokenize(keywords);
+            // Longest keyword as anchor: long words are rarer, so its posting list is shortest
+            String anchor = words.stream().max((a, b) -> Integer.compare(a.length(), b.length())).orElse(null);
+            String place = location == null || location.isBlank() ? null : location.trim().toLowerCase();
+            return new Query(id, userId, words, anchor, categoryId, minPrice, maxPrice, condition, place);
+        }
+
+        long categoryKey() {
+            return categoryId == null ? ANY_CATEGORY : categoryId;
+        }
+
+        // Open-ended budgets sort last so any price reaches them through tailMap
+        BigDecimal budget() {
+            return maxPrice == null ? BigDecimal.valueOf(Long.MAX_VALUE) : maxPrice;
+        }
+
+        public boolean matches(ProductDTO product, Set<String> productWords) {
+            BigDecimal price = product.getPrice() == null ? BigDecimal.ZERO : product.getPrice();
+            return productWords.containsAll(keywords)
+                    && (categoryId == null || categoryId.equals(product.getCategoryId()))
+                    && (minPrice == null || price.compareTo(minPrice) >= 0)
+                    && (maxPrice == null || price.compareTo(maxPrice) <= 0)
+                    && (condition == null || condition == product.getCondition())
+                    && (location == null || (product.getLocation() != null
+                            && product.getLocation().toLowerCase().contains(location)));
+        }
+    }
+
+    public void add(Query query) {
+        queries.put(query.id(), query);
+        if (!query.keywords().isEmpty()) {
+            byKeyword.computeIfAbsent(query.anchor(), word -> ConcurrentHashMap.newKeySet()).add(query.id());
+        } else {
+            byCategoryAndBudget.computeIfAbsent(query.categoryKey(), key -> new ConcurrentSkipListMap<>())
+                    .computeIfAbsent(query.budget(), budget -> ConcurrentHashMap.newKeySet())
+                    .add(query.id());
+        }
+    }
+
+    public void remove(Long queryId) {
+        Query query = queries.remove(queryId);
+        if (query == null) {
+            return;
+        }
+        Set<Long> bucket;
+        if (!query.keywords().isEmpty()) {
+            bucket = byKeyword.get(query.anchor());
+        } else {
+            NavigableMap<BigDecimal, Set<Long>> budgets = byCategoryAndBudget.get(query.categoryKey());
+            bucket = budgets == null ? null : budgets.get(query.budget());
+        }
+        if (bucket != null) {
+            bucket.remove(queryId);
+        }
+    }
+
+    public int size() {
+        return queries.size();
+    }
+
+    // The stored queries the listing satisfies
+    public List<Query> match(ProductDTO product) {
+        Set<String> words = tokenize(product.getTitle() + " "
+                + (product.getDescription() == null ? "" : product.getDescription()));
+        BigDecimal price = product.getPrice() == null ? BigDecimal.ZERO : product.getPrice();
+
+        Set<Long> candidates = new HashSet<>();
+        for (String word : words) {
+            candidates.addAll(byKeyword.getOrDefault(word, Set.of()));
+        }
+        for (Long categoryKey : List.of(ANY_CATEGORY, product.getCategoryId())) {
+            NavigableMap<BigDecimal, Set<Long>> budgets = byCategoryAndBudget.get(categoryKey);
+            if (budgets != null) {
+                budgets.tailMap(price, true).values().forEach(candidates::addAll);
+            }
+        }
+
+        List<Query> matched = new ArrayList<>();
+        for (Long queryId : candidates) {
+            Query query = queries.get(queryId);
+            if (query != null && query.matches(product, words)) {
+                matched.add(query);
+            }
+        }
+        return matched;
+    }
+
+    public static Set<String> tokenize(String text) {
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,87 @@
+-- Schema as generated by spring.jpa.hibernate.ddl-auto=update before Flyway took over, and nothing later.
+-- Databases created that way are baselined at version 1 and skip this script (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    user_id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role ENUM('ADMIN', 'STUDENT', 'STAFF') NOT NULL,
+    status ENUM('ACTIVE', 'BLOCKED') NOT NULL,
+    phone VARCHAR(20),
+    created_at DATETIME(6),
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_profile (
+    user_id BIGINT NOT NULL,
+    full_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    university_id VARCHAR(255),
+    department VARCHAR(255),
+    batch VARCHAR(255),
+    avatar_url VARCHAR(1000),
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_user_profile_university_id UNIQUE (university_id),
+    CONSTRAINT fk_user_profile_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE category (
+    category_id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    parent_id BIGINT,
+    PRIMARY KEY (category_id),
+    CONSTRAINT uk_category_name UNIQUE (name),
+    CONSTRAINT fk_category_parent FOREIGN KEY (parent_id) REFERENCES category (category_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product (
+    product_id BIGINT NOT NULL AUTO_INCREMENT,
+    seller_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    price DECIMAL(38, 2) NOT NULL,
+    condition_status ENUM('NEW', 'USED') NOT NULL,
+    status ENUM('AVAILABLE', 'RESERVED', 'SOLD', 'HIDDEN') NOT NULL,
+    location VARCHAR(255),
+    contact_phone VARCHAR(255),
+    created_at DATETIME(6),
+    PRIMARY KEY (product_id),
+    CONSTRAINT fk_product_seller FOREIGN KEY (seller_id) REFERENCES users (user_id),
+    CONSTRAINT fk_product_category FOREIGN KEY (category_id) REFERENCES category (category_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product_image (
+    image_id BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    image_url VARCHAR(255) NOT NULL,
+    is_primary BIT NOT NULL,
+    PRIMARY KEY (image_id),
+    CONSTRAINT fk_product_image_product FOREIGN KEY (product_id) REFERENCES product (product_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE conversation (
+    conversation_id BIGINT NOT NULL AUTO_INCREMENT,
+    buyer_id BIGINT NOT NULL,
+    seller_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (conversation_id),
+    CONSTRAINT uk_conversation_participants UNIQUE (buyer_id, seller_id, product_id),
+    CONSTRAINT fk_conversation_buyer FOREIGN KEY (buyer_id) REFERENCES users (user_id),
+    CONSTRAINT fk_conversation_seller FOREIGN KEY (seller_id) REFERENCES users (user_id),
+    CONSTRAINT fk_conversation_product FOREIGN KEY (product_id) REFERENCES product (product_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE message (
+    message_id BIGINT NOT NULL AUTO_INCREMENT,
+    conversation_id BIGINT NOT NULL,
+    sender_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    sent_at DATETIME(6),
+    is_read BIT NOT NULL,
+    PRIMARY KEY (message_id),
+    CONSTRAINT fk_message_conversation FOREIGN KEY (conversation_id) REFERENCES conversation (conversation_id),
+    CONSTRAINT fk_message_sender FOREIGN KEY (sender_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,109 @@
+-- Columns and tables the entities gained while ddl-auto=update still owned the schema. A database baselined at
+-- V1 has none of them yet; new databases get them here too, so both end up identical.
+
+-- Optimistic locking (@Version); existing rows start at 0
+ALTER TABLE user_profile ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE category ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE product
+    ADD COLUMN view_count BIGINT DEFAULT 0 NOT NULL AFTER contact_phone,
+    ADD COLUMN deleted_at DATETIME(6) AFTER created_at,
+    ADD COLUMN version BIGINT DEFAULT 0 NOT NULL,
+    ADD INDEX idx_product_deleted_at (deleted_at);
+
+CREATE TABLE saved_search (
+    saved_search_id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    keywords VARCHAR(255),
+    category_id BIGINT,
+    min_price DECIMAL(38, 2),
+    max_price DECIMAL(38, 2),
+    condition_status ENUM('NEW', 'USED'),
+    location VARCHAR(255),
+    created_at DATETIME(6),
+    PRIMARY KEY (saved_search_id),
+    CONSTRAINT fk_saved_search_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT fk_saved_search_category FOREIGN KEY (category_id) REFERENCES category (category_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE change_log (
+    change_seq BIGINT NOT NULL AUTO_INCREMENT,
+    entity_type ENUM('PRODUCT', 'PRODUCT_IMAGE', 'CATEGORY') NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation ENUM('UPSERT', 'DELETE') NOT NULL,
+    changed_at DATETIME(6),
+    PRIMARY KEY (change_seq)
+) ENGINE = InnoDB;
+
+CREATE TABLE outbox_event (
+    event_id BIGINT NOT NULL AUTO_INCREMENT,
+    event_type ENUM('PRODUCT_CREATED', 'PRODUCT_UPDATED', 'PRODUCT_DELETED', 'MESSAGE_SENT', 'PROFILE_UPDATED') NOT NULL,
+    aggregate_type VARCHAR(255) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload TEXT,
+    created_at DATETIME(6),
+    processed_at DATETIME(6),
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    PRIMARY KEY (event_id),
+    INDEX idx_outbox_pending (processed_at, event_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE trending_score (
+    product_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    score FLOAT(53) NOT NULL,
+    snapshot_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (product_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product_similarity (
+    product_id BIGINT NOT NULL,
+    rank_position INTEGER NOT NULL,
+    similar_product_id BIGINT NOT NULL,
+    score FLOAT(53) NOT NULL,
+    PRIMARY KEY (product_id, rank_position)
+) ENGINE = InnoDB;
+
+CREATE TABLE product_archive (
+    product_id BIGINT NOT NULL,
+    seller_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    price DECIMAL(38, 2) NOT NULL,
+    condition_status ENUM('NEW', 'USED') NOT NULL,
+    status ENUM('AVAILABLE', 'RESERVED', 'SOLD', 'HIDDEN') NOT NULL,
+    location VARCHAR(255),
+    contact_phone VARCHAR(255),
+    view_count BIGINT NOT NULL,
+    image_urls TEXT,
+    created_at DATETIME(6),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (product_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE conversation_archive (
+    conversation_id BIGINT NOT NULL,
+    buyer_id BIGINT NOT NULL,
+    seller_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_title VARCHAR(255),
+    created_at DATETIME(6),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (conversation_id),
+    INDEX idx_conversation_archive_buyer (buyer_id),
+    INDEX idx_conversation_archive_seller (seller_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE message_archive (
+    message_id BIGINT NOT NULL,
+    conversation_id BIGINT NOT NULL,
+    sender_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    sent_at DATETIME(6),
+    is_read BIT NOT NULL,
+    PRIMARY KEY (message_id),
+    INDEX idx_message_archive_conversation (conversation_id, sent_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,18 @@
+-- Indexes for the request-path queries. Each leads with the equality column and ends with the sort column,
+-- so the rows come back already ordered.
+
+-- Category listings (ProductRepo.findByCategory_CategoryId / findByCategoryWithCategory), newest first
+CREATE INDEX idx_product_category_created ON product (category_id, created_at);
+
+-- A seller's own listings, newest first
+CREATE INDEX idx_product_seller_created ON product (seller_id, created_at);
+
+-- Chat history and last-message lookups (MessageRepo.findByConversation)
+CREATE INDEX idx_message_conversation_sent ON message (conversation_id, sent_at);
+
+-- ConversationRepo.findByUserId: the buyer branch of the UNION uses the leading column of
+-- uk_conversation_participants (buyer_id, seller_id, product_id); the seller branch needs its own index
+CREATE INDEX idx_conversation_seller ON conversation (seller_id);
+
+-- Primary-image lookups for listing cards (ProductImageRepo.findPrimaryByProductIn)
+CREATE INDEX idx_product_image_product_primary ON product_image (product_id, is_primary);
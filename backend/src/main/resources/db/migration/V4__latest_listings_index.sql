@@ -0,0 +1,3 @@
+-- Newest listings across all categories (ProductRepo.findLatestWithCategory, the /home "latest" branch):
+-- read in index order and stopped after the page instead of sorting the whole table
+CREATE INDEX idx_product_created ON product (created_at, product_id);
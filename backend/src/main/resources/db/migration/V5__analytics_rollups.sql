@@ -0,0 +1,98 @@
+-- Daily rollups behind /api/v1/analytics, kept current by AnalyticsSubscriber from outbox events. Reads cost
+-- one row per day (and per category or reply-time bucket) however much history the base tables hold.
+
+ALTER TABLE conversation ADD COLUMN first_reply_at DATETIME(6);
+
+CREATE TABLE analytics_daily (
+    day DATE NOT NULL,
+    messages_sent BIGINT NOT NULL DEFAULT 0,
+    conversations_started BIGINT NOT NULL DEFAULT 0,
+    first_replies BIGINT NOT NULL DEFAULT 0,
+    active_users BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day)
+) ENGINE = InnoDB;
+
+CREATE TABLE analytics_category_daily (
+    day DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    listings_created BIGINT NOT NULL DEFAULT 0,
+    listings_sold BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, category_id)
+) ENGINE = InnoDB;
+
+-- Time to first reply as a histogram: bucket = FLOOR(4 * LOG2(seconds + 1)), about 19% wide, so a median
+-- over any range is a walk over a few dozen buckets per day
+CREATE TABLE analytics_reply_time (
+    day DATE NOT NULL,
+    bucket INT NOT NULL,
+    replies BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, bucket)
+) ENGINE = InnoDB;
+
+-- Who was already counted as active on a day; only recent days are kept
+CREATE TABLE analytics_active_user (
+    day DATE NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (day, user_id)
+) ENGINE = InnoDB;
+
+-- Events already applied, so a redelivered event is not counted twice; purged after a few days
+CREATE TABLE analytics_applied_event (
+    event_id BIGINT NOT NULL,
+    applied_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (event_id),
+    INDEX idx_analytics_applied_at (applied_at)
+) ENGINE = InnoDB;
+
+-- Backfill from the existing (and archived) rows. Sales have no timestamp, so listings_sold starts here.
+
+UPDATE conversation c SET first_reply_at = (
+    SELECT MIN(m.sent_at) FROM message m WHERE m.conversation_id = c.conversation_id AND m.sender_id <> c.buyer_id
+);
+
+INSERT INTO analytics_category_daily (day, category_id, listings_created)
+SELECT day, category_id, SUM(listings) FROM (
+    SELECT DATE(created_at) AS day, category_id, COUNT(*) AS listings FROM product
+    WHERE created_at IS NOT NULL GROUP BY DATE(created_at), category_id
+    UNION ALL
+    SELECT DATE(created_at), category_id, COUNT(*) FROM product_archive
+    WHERE created_at IS NOT NULL GROUP BY DATE(created_at), category_id
+) listings GROUP BY day, category_id;
+
+INSERT INTO analytics_daily (day, messages_sent, conversations_started, first_replies)
+SELECT day, SUM(messages), SUM(started), SUM(replies) FROM (
+    SELECT DATE(sent_at) AS day, COUNT(*) AS messages, 0 AS started, 0 AS replies FROM message
+    WHERE sent_at IS NOT NULL GROUP BY DATE(sent_at)
+    UNION ALL
+    SELECT DATE(sent_at), COUNT(*), 0, 0 FROM message_archive WHERE sent_at IS NOT NULL GROUP BY DATE(sent_at)
+    UNION ALL
+    SELECT DATE(created_at), 0, COUNT(*), 0 FROM conversation WHERE created_at IS NOT NULL GROUP BY DATE(created_at)
+    UNION ALL
+    SELECT DATE(created_at), 0, COUNT(*), 0 FROM conversation_archive
+    WHERE created_at IS NOT NULL GROUP BY DATE(created_at)
+    UNION ALL
+    SELECT DATE(first_reply_at), 0, 0, COUNT(*) FROM conversation
+    WHERE first_reply_at IS NOT NULL GROUP BY DATE(first_reply_at)
+) activity GROUP BY day;
+
+INSERT INTO analytics_reply_time (day, bucket, replies)
+SELECT DATE(first_reply_at), FLOOR(4 * LOG2(GREATEST(TIMESTAMPDIFF(SECOND, created_at, first_reply_at), 0) + 1)),
+    COUNT(*)
+FROM conversation WHERE first_reply_at IS NOT NULL AND created_at IS NOT NULL GROUP BY 1, 2;
+
+INSERT INTO analytics_active_user (day, user_id)
+SELECT DATE(sent_at), sender_id FROM message WHERE sent_at IS NOT NULL
+UNION
+SELECT DATE(sent_at), sender_id FROM message_archive WHERE sent_at IS NOT NULL
+UNION
+SELECT DATE(created_at), seller_id FROM product WHERE created_at IS NOT NULL
+UNION
+SELECT DATE(created_at), seller_id FROM product_archive WHERE created_at IS NOT NULL;
+
+INSERT INTO analytics_daily (day, active_users)
+SELECT * FROM (SELECT day, COUNT(*) AS users FROM analytics_active_user GROUP BY day) counts
+ON DUPLICATE KEY UPDATE active_users = users;
+
+-- Events still waiting in the outbox describe rows the backfill has already counted
+INSERT INTO analytics_applied_event (event_id, applied_at)
+SELECT event_id, NOW(6) FROM outbox_event WHERE processed_at IS NULL;
@@ -0,0 +1,11 @@
+-- Perceptual hashes of uploaded images, keyed by stored file name (several listings may share a file).
+-- ImageHashIndex joins them to product_image to build its in-memory BK-tree of live listings.
+CREATE TABLE image_hash (
+    file_name VARCHAR(255) NOT NULL,
+    hash BIGINT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (file_name)
+) ENGINE = InnoDB;
+
+-- Set when a new listing's images nearly match an existing listing's and duplicate detection is in FLAG mode
+ALTER TABLE product ADD COLUMN duplicate_of BIGINT;
@@ -0,0 +1,13 @@
+-- Campus gazetteer, seeded by DataInitializer. A listing whose free-text location names a place gets that
+-- place's coordinates, which NearbyIndexService grids in memory for /api/v1/product/nearby.
+CREATE TABLE campus_place (
+    place_id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL,
+    PRIMARY KEY (place_id),
+    CONSTRAINT uk_campus_place_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+-- NULL when the location is empty or not a known place; such listings are left out of nearby results
+ALTER TABLE product ADD COLUMN latitude DOUBLE, ADD COLUMN longitude DOUBLE;
@@ -0,0 +1,24 @@
+-- Delta sync pages by commit order instead of insert order (see ChangeLogSequencer). Rows already logged are
+-- committed, so their insert order is their commit order.
+ALTER TABLE change_log ADD COLUMN sync_seq BIGINT, ADD CONSTRAINT uk_change_log_sync_seq UNIQUE (sync_seq);
+
+UPDATE change_log SET sync_seq = change_seq;
+
+-- Entities saved before the change log existed (or seeded without it) were never logged, so a client syncing
+-- from 0 would miss them. Log them once; the sequencer numbers them after everything above.
+INSERT INTO change_log (entity_type, entity_id, operation, changed_at)
+SELECT 'CATEGORY', c.category_id, 'UPSERT', NOW(6) FROM category c
+WHERE NOT EXISTS (SELECT 1 FROM change_log l WHERE l.entity_type = 'CATEGORY' AND l.entity_id = c.category_id)
+ORDER BY c.category_id;
+
+INSERT INTO change_log (entity_type, entity_id, operation, changed_at)
+SELECT 'PRODUCT', p.product_id, 'UPSERT', NOW(6) FROM product p
+WHERE p.deleted_at IS NULL
+  AND NOT EXISTS (SELECT 1 FROM change_log l WHERE l.entity_type = 'PRODUCT' AND l.entity_id = p.product_id)
+ORDER BY p.product_id;
+
+INSERT INTO change_log (entity_type, entity_id, operation, changed_at)
+SELECT 'PRODUCT_IMAGE', i.image_id, 'UPSERT', NOW(6) FROM product_image i JOIN product p ON p.product_id = i.product_id
+WHERE p.deleted_at IS NULL
+  AND NOT EXISTS (SELECT 1 FROM change_log l WHERE l.entity_type = 'PRODUCT_IMAGE' AND l.entity_id = i.image_id)
+ORDER BY i.image_id;
@@ -0,0 +1,13 @@
+-- Failed outbox events are retried with exponential backoff (next_attempt_at) and parked in a dead-letter state
+-- (dead_at) once their give-up window has passed, instead of being marked processed. delivered_to lists the
+-- subscribers that already handled an event, so a retry only calls the ones that failed.
+ALTER TABLE outbox_event
+    ADD COLUMN next_attempt_at DATETIME(6),
+    ADD COLUMN dead_at DATETIME(6),
+    ADD COLUMN delivered_to VARCHAR(1000);
+
+-- Dead events stay pending (processed_at NULL) but must not be walked by every poll
+ALTER TABLE outbox_event
+    DROP INDEX idx_outbox_pending,
+    ADD INDEX idx_outbox_pending (processed_at, dead_at, event_id),
+    ADD INDEX idx_outbox_aggregate (aggregate_type, aggregate_id, event_id);
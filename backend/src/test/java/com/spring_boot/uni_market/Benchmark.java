@@ -0,0 +1,20 @@
+package com.spring_boot.uni_market;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A timing test. Its wall-clock bounds are meant for a quiet machine, so the default mvn test run skips it;
+ * mvn -Pbenchmarks test runs these alone.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Test
+@Tag("benchmark")
+@interface Benchmark {
+}
@@ -0,0 +1,140 @@
+package com.spring_boot.uni_market;
+
+import com.spring_boot.uni_market.config.WebMvcConfig;
+import com.spring_boot.uni_market.dto.ProductDTO;
+import com.spring_boot.uni_market.enums.ProductCondition;
+import com.spring_boot.uni_market.enums.ProductStatus;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JSON, CBOR and Smile through the converters WebMvcConfig registers: a response written in one format and read
+ * back must carry the same values, and a value passed JSON to CBOR to Smile and back to JSON must come out as the
+ * same JSON.
+ */
+class BinaryFormatRoundTripTests {
+
+	private static final List<MediaType> FORMATS = List.of(
+			MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, WebMvcConfig.APPLICATION_SMILE);
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final List<HttpMessageConverter<?>> converters = converters();
+
+	@Test
+	void productRoundTripsInEveryFormat() throws IOException {
+		ProductDTO product = product();
+		for (MediaType format : FORMATS) {
+			assertEquals(product, read(write(product, format), format, ProductDTO.class), format.toString());
+		}
+	}
+
+	@Test
+	void standardResponseRoundTripsInEveryFormat() throws IOException {
+		StandardResponse response = new StandardResponse("success", "Product retrieved", product(), 200);
+		for (MediaType format : FORMATS) {
+			StandardResponse copy = read(write(response, format), format, StandardResponse.class);
+			assertEquals(response.getStatus(), copy.getStatus(), format.toString());
+			assertEquals(response.getMessage(), copy.getMessage(), format.toString());
+			assertEquals(response.getStatusCode(), copy.getStatusCode(), format.toString());
+			// data is declared as Object, so it comes back as a map that must bind to the original DTO; the price
+			// passes through a double there and keeps its value but not its scale
+			assertTrue(copy.getData() instanceof Map, format.toString());
+			ProductDTO product = jsonMapper.convertValue(copy.getData(), ProductDTO.class);
+			ProductDTO original = (ProductDTO) response.getData();
+			assertEquals(0, original.getPrice().compareTo(product.getPrice()), format.toString());
+			product.setPrice(original.getPrice());
+			assertEquals(original, product, format.toString());
+		}
+	}
+
+	@Test
+	void valuesSurviveJsonToCborToSmileAndBack() throws IOException {
+		StandardResponse response = new StandardResponse("success", "Products retrieved",
+				List.of(product(), emptyProduct()), 200);
+		byte[] json = write(response, MediaType.APPLICATION_JSON);
+
+		Object value = read(json, MediaType.APPLICATION_JSON, Object.class);
+		value = read(write(value, MediaType.APPLICATION_CBOR), MediaType.APPLICATION_CBOR, Object.class);
+		value = read(write(value, WebMvcConfig.APPLICATION_SMILE), WebMvcConfig.APPLICATION_SMILE, Object.class);
+
+		assertEquals(jsonMapper.readTree(json), jsonMapper.readTree(write(value, MediaType.APPLICATION_JSON)));
+	}
+
+	private static List<HttpMessageConverter<?>> converters() {
+		List<HttpMessageConverter<?>> converters = new ArrayList<>();
+		converters.add(new JacksonJsonHttpMessageConverter());
+		new WebMvcConfig(null).extendMessageConverters(converters);
+		return converters;
+	}
+
+	@SuppressWarnings("unchecked")
+	private HttpMessageConverter<Object> converterFor(Class<?> type, MediaType format) {
+		for (HttpMessageConverter<?> converter : converters) {
+			if (converter.canWrite(type, format) && converter.canRead(type, format)) {
+				return (HttpMessageConverter<Object>) converter;
+			}
+		}
+		throw new AssertionError("No converter for " + format);
+	}
+
+	private byte[] write(Object value, MediaType format) throws IOException {
+		MockHttpOutputMessage output = new MockHttpOutputMessage();
+		converterFor(value.getClass(), format).write(value, format, output);
+		assertEquals(format, output.getHeaders().getContentType());
+		return output.getBodyAsBytes();
+	}
+
+	private <T> T read(byte[] body, MediaType format, Class<T> type) throws IOException {
+		MockHttpInputMessage input = new MockHttpInputMessage(body);
+		input.getHeaders().setContentType(format);
+		T value = type.cast(converterFor(type, format).read(type, input));
+		assertNotNull(value);
+		return value;
+	}
+
+	private static ProductDTO product() {
+		ProductDTO product = new ProductDTO();
+		product.setProductId(42L);
+		product.setSellerId(7L);
+		product.setCategoryId(3L);
+		product.setTitle("Casio fx-991ES calculator – barely used");
+		product.setDescription("Works perfectly, comes with cover.\nPickup near the library.");
+		product.setPrice(new BigDecimal("2500.50"));
+		product.setCondition(ProductCondition.USED);
+		product.setStatus(ProductStatus.AVAILABLE);
+		product.setLocation("Library");
+		product.setLatitude(6.79512);
+		product.setLongitude(79.90085);
+		product.setContactPhone("0771234567");
+		product.setSellerName("Nimal");
+		product.setCategoryName("Electronics");
+		product.setImageUrls(List.of("/uploads/a1.jpg", "/uploads/b2.jpg"));
+		product.setCreatedAt(LocalDateTime.of(2025, 3, 14, 9, 26, 53));
+		product.setDuplicateOf(17L);
+		return product;
+	}
+
+	private static ProductDTO emptyProduct() {
+		ProductDTO product = new ProductDTO();
+		product.setProductId(43L);
+		product.setImageUrls(List.of());
+		return product;
+	}
+}
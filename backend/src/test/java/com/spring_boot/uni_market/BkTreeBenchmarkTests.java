@@ -0,0 +1,66 @@
+package com.spring_boot.uni_market;
+
+import com.spring_boot.uni_market.utils.BkTree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Near-duplicate lookup at 1M stored image hashes, at the default radius of 4 bits. Uniformly random hashes
+ * are the BK-tree's worst case (every subtree sits at distance ~32), so real catalogues search faster than
+ * this.
+ */
+class BkTreeBenchmarkTests {
+
+	private static final int HASHES = 1_000_000;
+	private static final int QUERIES = 500;
+	private static final int RADIUS = 4;
+
+	@Benchmark
+	void lookupAtOneMillionHashes() {
+		SplittableRandom random = new SplittableRandom(42);
+		long[] hashes = new long[HASHES];
+		BkTree<Integer> tree = new BkTree<>();
+		long start = System.nanoTime();
+		for (int i = 0; i < HASHES; i++) {
+			hashes[i] = random.nextLong();
+			tree.add(hashes[i], i);
+		}
+		double buildMs = (System.nanoTime() - start) / 1e6;
+
+		// Each query is a stored hash with up to two bits flipped, like a re-encoded copy of the same photo
+		int[] targets = new int[QUERIES];
+		long[] queries = new long[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			targets[i] = random.nextInt(HASHES);
+			queries[i] = hashes[targets[i]] ^ (1L << random.nextInt(64)) ^ (1L << random.nextInt(64));
+		}
+		List<List<BkTree.Match<Integer>>> found = new ArrayList<>(Collections.nCopies(QUERIES, null));
+		Latencies latencies = Latencies.measure(QUERIES, i -> found.set(i, tree.search(queries[i], RADIUS)));
+		for (int i = 0; i < QUERIES; i++) {
+			int target = targets[i];
+			assertTrue(found.get(i).stream().anyMatch(match -> match.value() == target), "Missed planted duplicate");
+		}
+		double p50Ms = latencies.p50Ms();
+
+		// Brute force over the same hashes, for comparison and to check the tree misses nothing
+		start = System.nanoTime();
+		int bruteForce = 0;
+		for (long hash : hashes) {
+			if (Long.bitCount(hash ^ queries[0]) <= RADIUS) {
+				bruteForce++;
+			}
+		}
+		double scanMs = (System.nanoTime() - start) / 1e6;
+		assertEquals(bruteForce, tree.search(queries[0], RADIUS).size());
+
+		System.out.printf("BK-tree, %d hashes: built in %.0f ms, lookup p50 %.2f ms, p99 %.2f ms (linear scan %.2f ms)%n",
+				HASHES, buildMs, p50Ms, latencies.p99Ms(), scanMs);
+		assertTrue(p50Ms < 20, "Lookup took " + p50Ms + " ms at p50");
+	}
+}
@@ -0,0 +1,128 @@
+package com.spring_boot.uni_market;
+
+import com.spring_boot.uni_market.config.BulkheadInterceptor;
+import com.spring_boot.uni_market.dto.BulkheadStatsDTO;
+import com.spring_boot.uni_market.service.ChatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fault injection: chat handlers stall inside a real database call (SELECT SLEEP) on pooled connections, and
+ * so does more background work than the background share allows. Further chat requests must be shed with
+ * 503 + Retry-After, background work must stay within its share, and catalog, home and profile requests must
+ * still get connections and be served, every /home branch included.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"app.bulkhead.chat.max-concurrent=2",
+		"app.bulkhead.chat.max-wait-ms=0",
+		"app.bulkhead.background.max-connections=2",
+		"spring.datasource.hikari.maximum-pool-size=26" })
+class BulkheadIsolationTests {
+
+	private static final int STALL_SECONDS = 3;
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@Autowired
+	private BulkheadInterceptor bulkheadInterceptor;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private ChatService chatService;
+
+	@Test
+	void stalledChatAndBackgroundDoNotStarveCatalog() throws Exception {
+		RestClient client = RestClient.builder().baseUrl("http://localhost:" + port + "/api/v1").build();
+		when(chatService.getConversationsForUser(anyLong())).thenAnswer(invocation -> {
+			jdbcTemplate.queryForObject("SELECT SLEEP(?)", Integer.class, STALL_SECONDS);
+			return List.of();
+		});
+
+		// Test threads are not request threads, so their connections come from the background share
+		ExecutorService callers = Executors.newFixedThreadPool(6);
+		try {
+			List<Future<Integer>> stalled = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				stalled.add(callers.submit(() -> status(client, "/chat/conversations/1")));
+			}
+			List<Future<?>> background = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				background.add(callers.submit(
+						() -> jdbcTemplate.queryForObject("SELECT SLEEP(?)", Integer.class, STALL_SECONDS)));
+			}
+			awaitActiveConnections("chat", 2);
+			awaitActiveConnections("background", 2);
+
+			String[] retryAfter = new String[1];
+			int shed = client.get().uri("/chat/conversations/1").exchange((request, response) -> {
+				retryAfter[0] = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+				return response.getStatusCode().value();
+			});
+			assertEquals(503, shed);
+			assertEquals("1", retryAfter[0]);
+
+			long start = System.nanoTime();
+			assertEquals(200, status(client, "/category/list"));
+			assertEquals(200, status(client, "/product/list/summary"));
+			assertEquals(200, status(client, "/home?userId=1"));
+			assertEquals(200, status(client, "/user/cache/stats"));
+			long servedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			assertTrue(servedMs < STALL_SECONDS * 1000L, "Catalog waited " + servedMs + " ms on the stalled work");
+
+			for (Future<Integer> call : stalled) {
+				assertEquals(200, call.get(STALL_SECONDS * 3L, TimeUnit.SECONDS));
+			}
+			for (Future<?> work : background) {
+				work.get(STALL_SECONDS * 5L, TimeUnit.SECONDS);
+			}
+		} finally {
+			callers.shutdownNow();
+		}
+
+		BulkheadStatsDTO chat = stats("chat");
+		assertEquals(1, chat.getRejected());
+		assertEquals(2, chat.getPeakActive());
+		assertEquals(2, chat.getPeakConnections());
+		assertEquals(2, stats("background").getPeakConnections());
+		assertEquals(0, stats("catalog").getRejected());
+		assertEquals(0, stats("catalog").getConnectionTimeouts());
+		assertEquals(0, stats("home").getConnectionTimeouts());
+	}
+
+	private void awaitActiveConnections(String bulkhead, int expected) throws InterruptedException {
+		for (int attempt = 0; attempt < 100 && stats(bulkhead).getActiveConnections() < expected; attempt++) {
+			Thread.sleep(20);
+		}
+		assertEquals(expected, stats(bulkhead).getActiveConnections(), bulkhead + " never filled its share");
+	}
+
+	private int status(RestClient client, String path) {
+		return client.get().uri(path).exchange((request, response) -> response.getStatusCode().value());
+	}
+
+	private BulkheadStatsDTO stats(String name) {
+		return bulkheadInterceptor.getStats().stream()
+				.filter(stats -> stats.getName().equals(name))
+				.findFirst().orElseThrow();
+	}
+}
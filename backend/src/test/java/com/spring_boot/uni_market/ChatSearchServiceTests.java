@@ -0,0 +1,226 @@
+package com.spring_boot.uni_market;
+
+import com.spring_boot.uni_market.dto.ChatSearchHitDTO;
+import com.spring_boot.uni_market.dto.ChatSearchResultDTO;
+import com.spring_boot.uni_market.dto.DomainEvent;
+import com.spring_boot.uni_market.entity.Conversation;
+import com.spring_boot.uni_market.entity.Message;
+import com.spring_boot.uni_market.entity.Product;
+import com.spring_boot.uni_market.entity.User;
+import com.spring_boot.uni_market.enums.DomainEventType;
+import com.spring_boot.uni_market.repo.ConversationRepo;
+import com.spring_boot.uni_market.repo.MessageRepo;
+import com.spring_boot.uni_market.service.ChatSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Query semantics of chat search over in-memory conversations: tokenizing, prefix matching, every word required,
+ * only the caller's conversations searched, highlight offsets into the returned snippet, and which per-conversation
+ * indexes are kept when the cap is reached. The repositories are mocks that record which conversations get loaded.
+ */
+class ChatSearchServiceTests {
+
+	private final ConversationRepo conversationRepo = mock(ConversationRepo.class);
+	private final MessageRepo messageRepo = mock(MessageRepo.class);
+	private final ChatSearchService service = new ChatSearchService();
+
+	private final Map<Long, List<Conversation>> conversationsByUser = new HashMap<>();
+	private final List<Message> messages = new ArrayList<>();
+	private final List<Set<Long>> loads = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "conversationRepo", conversationRepo);
+		ReflectionTestUtils.setField(service, "messageRepo", messageRepo);
+		ReflectionTestUtils.setField(service, "maxConversations", 5000);
+		when(conversationRepo.findByUserId(anyLong()))
+				.thenAnswer(invocation -> conversationsByUser.getOrDefault(invocation.<Long>getArgument(0), List.of()));
+		when(messageRepo.findByConversationIdIn(any())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			loads.add(Set.copyOf(ids));
+			return messages.stream().filter(m -> ids.contains(m.getConversation().getConversationId())).toList();
+		});
+		when(messageRepo.findById(anyLong())).thenAnswer(invocation -> messages.stream()
+				.filter(m -> m.getMessageId().equals(invocation.getArgument(0))).findFirst());
+	}
+
+	@Test
+	void tokenizerSplitsOnNonAlphanumericsAndIgnoresCase() {
+		Conversation conversation = conversation(1L, 10L, 20L);
+		message(conversation, 100L, "Selling my Calculus-II textbook, 2nd ed. (Café pickup)");
+
+		assertEquals(1, search(10L, "calculus").getTotal());
+		assertEquals(1, search(10L, "II").getTotal());
+		assertEquals(1, search(10L, "2nd").getTotal());
+		assertEquals(1, search(10L, "café").getTotal());
+		assertEquals(1, search(10L, "  TEXTBOOK!!  ").getTotal());
+		assertEquals(0, search(10L, "calculusii").getTotal());
+		assertThrows(IllegalArgumentException.class, () -> search(10L, "?! -"));
+	}
+
+	@Test
+	void queryWordsMatchAsWordPrefixes() {
+		Conversation conversation = conversation(1L, 10L, 20L);
+		message(conversation, 100L, "Is the calculus book still available?");
+
+		assertEquals(1, search(10L, "calc").getTotal());
+		assertEquals(1, search(10L, "avail").getTotal());
+		// A prefix of a word, never a suffix or an infix
+		assertEquals(0, search(10L, "ulus").getTotal());
+		assertEquals(0, search(10L, "alcul").getTotal());
+		assertEquals(0, search(10L, "calculuses").getTotal());
+	}
+
+	@Test
+	void everyQueryWordMustOccurInTheSameMessage() {
+		Conversation conversation = conversation(1L, 10L, 20L);
+		message(conversation, 100L, "calculus book for sale");
+		message(conversation, 101L, "physics book, barely used");
+		message(conversation, 102L, "calculus notes");
+
+		assertEquals(List.of(100L), messageIds(search(10L, "calc book")));
+		assertEquals(List.of(101L, 100L), messageIds(search(10L, "book")));
+		assertEquals(List.of(102L, 100L), messageIds(search(10L, "calculus")));
+		assertEquals(0, search(10L, "calculus physics").getTotal());
+	}
+
+	@Test
+	void onlyTheCallersConversationsAreSearched() {
+		Conversation mine = conversation(1L, 10L, 20L);
+		Conversation asSeller = conversation(2L, 30L, 10L);
+		Conversation others = conversation(3L, 30L, 20L);
+		message(mine, 100L, "desk lamp");
+		message(asSeller, 101L, "desk chair");
+		message(others, 102L, "desk for sale");
+
+		assertEquals(List.of(101L, 100L), messageIds(search(10L, "desk")));
+		assertEquals(Set.of(1L, 2L), loads.get(0));
+		// Already indexed for user 30, still not visible to user 10
+		assertEquals(2, search(30L, "desk").getTotal());
+		assertEquals(List.of(101L, 100L), messageIds(search(10L, "desk")));
+		assertEquals(0, search(40L, "desk").getTotal());
+	}
+
+	@Test
+	void highlightsPointIntoTheSnippet() {
+		Conversation conversation = conversation(1L, 10L, 20L);
+		message(conversation, 100L, "Hi! Is the Calculus book still there?");
+		String filler = "lorem ipsum ".repeat(10);
+		message(conversation, 101L, filler + "the calculus book " + filler);
+
+		ChatSearchResultDTO result = search(10L, "calc book");
+		ChatSearchHitDTO longHit = result.getHits().get(0);
+		ChatSearchHitDTO shortHit = result.getHits().get(1);
+
+		assertEquals("Hi! Is the Calculus book still there?", shortHit.getSnippet());
+		assertEquals(List.of("Calculus", "book"), highlighted(shortHit));
+
+		// Clipped around the first match: leading ellipsis counted in the offsets, trailing ellipsis appended
+		assertTrue(longHit.getSnippet().startsWith("…"), longHit.getSnippet());
+		assertTrue(longHit.getSnippet().endsWith("…"), longHit.getSnippet());
+		assertEquals(List.of("calculus", "book"), highlighted(longHit));
+	}
+
+	@Test
+	void messagesSentAfterIndexingAreFound() {
+		Conversation conversation = conversation(1L, 10L, 20L);
+		message(conversation, 100L, "is the lamp available");
+		assertEquals(0, search(10L, "tomorrow").getTotal());
+
+		message(conversation, 101L, "yes, pick it up tomorrow");
+		DomainEvent sent = new DomainEvent(1L, DomainEventType.MESSAGE_SENT, 1L, Map.of("messageId", 101), null);
+		service.onEvent(sent);
+		// Redelivery does not index the message twice
+		service.onEvent(sent);
+
+		assertEquals(List.of(101L), messageIds(search(10L, "tomorrow")));
+		assertEquals(1, loads.size());
+	}
+
+	@Test
+	void leastRecentlySearchedIndexesAreEvictedFirst() {
+		ReflectionTestUtils.setField(service, "maxConversations", 2);
+		message(conversation(1L, 10L, 99L), 100L, "desk");
+		message(conversation(2L, 20L, 99L), 101L, "desk");
+		message(conversation(3L, 30L, 99L), 102L, "desk");
+
+		search(10L, "desk");
+		search(20L, "desk");
+		// Conversation 1 is now the most recently used, so building 3 evicts 2
+		search(10L, "desk");
+		search(30L, "desk");
+		assertEquals(List.of(Set.of(1L), Set.of(2L), Set.of(3L)), loads);
+
+		search(10L, "desk");
+		search(30L, "desk");
+		assertEquals(3, loads.size());
+		search(20L, "desk");
+		assertEquals(Set.of(2L), loads.get(3));
+		// Conversation 1 was searched before 3, so it made room for 2
+		search(30L, "desk");
+		assertEquals(4, loads.size());
+		search(10L, "desk");
+		assertEquals(Set.of(1L), loads.get(4));
+	}
+
+	private ChatSearchResultDTO search(Long userId, String query) {
+		return service.search(userId, query, 0, 50);
+	}
+
+	private Conversation conversation(Long conversationId, Long buyerId, Long sellerId) {
+		Product product = new Product();
+		product.setProductId(conversationId * 1000);
+		product.setTitle("Listing " + conversationId);
+		Conversation conversation = new Conversation();
+		conversation.setConversationId(conversationId);
+		conversation.setProduct(product);
+		conversation.setBuyer(user(buyerId));
+		conversation.setSeller(user(sellerId));
+		conversationsByUser.computeIfAbsent(buyerId, id -> new ArrayList<>()).add(conversation);
+		conversationsByUser.computeIfAbsent(sellerId, id -> new ArrayList<>()).add(conversation);
+		return conversation;
+	}
+
+	// Message ids double as send order, so later ids are newer
+	private void message(Conversation conversation, Long messageId, String content) {
+		Message message = new Message();
+		message.setMessageId(messageId);
+		message.setConversation(conversation);
+		message.setSender(conversation.getBuyer());
+		message.setContent(content);
+		message.setSentAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(messageId));
+		messages.add(message);
+	}
+
+	private static User user(Long userId) {
+		User user = new User();
+		user.setUserId(userId);
+		return user;
+	}
+
+	private static List<Long> messageIds(ChatSearchResultDTO result) {
+		return result.getHits().stream().map(ChatSearchHitDTO::getMessageId).toList();
+	}
+
+	private static List<String> highlighted(ChatSearchHitDTO hit) {
+		return hit.getHighlights().stream().map(range -> hit.getSnippet().substring(range[0], range[1])).toList();
+	}
+}
@@ -0,0 +1,122 @@
+package com.spring_boot.uni_market;
+
+import com.spring_boot.uni_market.entity.Conversation;
+import com.spring_boot.uni_market.entity.Product;
+import com.spring_boot.uni_market.repo.ConversationRepo;
+import com.spring_boot.uni_market.repo.MessageRepo;
+import com.spring_boot.uni_market.repo.OutboxEventRepo;
+import com.spring_boot.uni_market.repo.ProductImageRepo;
+import com.spring_boot.uni_market.repo.ProductRepo;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Fails when a request-path query would scan a whole table (EXPLAIN access type ALL), e.g. after an index in
+ * db/migration is dropped or a query stops matching one. Each case calls the real repository method and EXPLAINs
+ * the SQL Hibernate sent for it, so the check follows the query as it changes. Runs against the migrated schema.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.spring_boot.uni_market.HotQueryIndexTests$SqlRecorder")
+class HotQueryIndexTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private ProductRepo productRepo;
+	@Autowired
+	private ProductImageRepo productImageRepo;
+	@Autowired
+	private MessageRepo messageRepo;
+	@Autowired
+	private ConversationRepo conversationRepo;
+	@Autowired
+	private OutboxEventRepo outboxEventRepo;
+
+	// Records the SQL issued on the calling thread only, so the schedulers running in the context do not mix in
+	public static class SqlRecorder implements StatementInspector {
+
+		private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+		@Override
+		public String inspect(String sql) {
+			List<String> recorded = RECORDED.get();
+			if (recorded != null) {
+				recorded.add(sql);
+			}
+			return sql;
+		}
+
+		static List<String> record(Runnable action) {
+			List<String> recorded = new ArrayList<>();
+			RECORDED.set(recorded);
+			try {
+				action.run();
+			} finally {
+				RECORDED.remove();
+			}
+			return recorded;
+		}
+	}
+
+	static Stream<Named<Consumer<HotQueryIndexTests>>> hotQueries() {
+		return Stream.of(
+				Named.of("ProductRepo.findByCategoryWithCategory",
+						test -> test.productRepo.findByCategoryWithCategory(1L)),
+				Named.of("ProductRepo.findLatestWithCategory",
+						test -> test.productRepo.findLatestWithCategory(PageRequest.of(0, 20))),
+				Named.of("MessageRepo.findByConversation",
+						test -> test.messageRepo.findByConversation(test.entityManager.getReference(Conversation.class, 1L))),
+				Named.of("ProductImageRepo.findPrimaryByProductIn",
+						test -> test.productImageRepo.findPrimaryByProductIn(List.of(
+								test.entityManager.getReference(Product.class, 1L),
+								test.entityManager.getReference(Product.class, 2L),
+								test.entityManager.getReference(Product.class, 3L)))),
+				Named.of("ConversationRepo.findByUserId",
+						test -> test.conversationRepo.findByUserId(1L)),
+				Named.of("OutboxEventRepo.findPending",
+						test -> test.outboxEventRepo.findPending(LocalDateTime.now(), PageRequest.of(0, 200))));
+	}
+
+	@ParameterizedTest
+	@MethodSource("hotQueries")
+	void hotQueryUsesAnIndex(Consumer<HotQueryIndexTests> query) {
+		List<String> statements = SqlRecorder.record(() -> query.accept(this));
+		assertFalse(statements.isEmpty(), "The repository call sent no SQL");
+		for (String sql : statements) {
+			// Every bind parameter in these queries is an id, a page bound or a timestamp; 1 is a valid value for
+			// each as far as the plan is concerned
+			Object[] parameters = Collections.nCopies((int) sql.chars().filter(c -> c == '?').count(), 1L).toArray();
+			List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, parameters);
+			for (Map<String, Object> row : plan) {
+				Object table = row.get("table");
+				// Derived rows such as <union1,2> are temporary results, not base tables
+				if (table == null || table.toString().startsWith("<")) {
+					continue;
+				}
+				assertNotNull(row.get("type"), () -> "No access type for " + table + " in: " + sql);
+				assertFalse("ALL".equalsIgnoreCase(row.get("type").toString()),
+						() -> "Full scan of " + table + " (key=" + row.get("key") + ") in: " + sql);
+			}
+		}
+	}
+}
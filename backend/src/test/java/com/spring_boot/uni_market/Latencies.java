@@ -0,0 +1,33 @@
+package com.spring_boot.uni_market;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Per-call latencies for a benchmark: every call is made once untimed to warm up, then again on its own clock.
+ * A rough harness (no JMH), good for the order of magnitude and the shape of the tail.
+ */
+record Latencies(long[] sortedNanos) {
+
+	static Latencies measure(int calls, IntConsumer call) {
+		for (int i = 0; i < calls; i++) {
+			call.accept(i);
+		}
+		long[] nanos = new long[calls];
+		for (int i = 0; i < calls; i++) {
+			long start = System.nanoTime();
+			call.accept(i);
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return new Latencies(nanos);
+	}
+
+	double p50Ms() {
+		return sortedNanos[sortedNanos.length / 2] / 1e6;
+	}
+
+	double p99Ms() {
+		return sortedNanos[sortedNanos.length * 99 / 100] / 1e6;
+	}
+}
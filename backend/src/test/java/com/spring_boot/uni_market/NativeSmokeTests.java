@@ -0,0 +1,144 @@
+package com.spring_boot.uni_market;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end requests through the paths that need native-image metadata: Jackson on StandardResponse and
+ * the DTOs, entities returned directly, lazy Product/Conversation/Message associations and repository
+ * projections. Runs on the JVM with the other tests and as a native image with mvn -PnativeTest test,
+ * after which it prints startup time and resident memory.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class NativeSmokeTests {
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@Autowired
+	private JsonMapper jsonMapper;
+
+	private RestClient client;
+
+	@BeforeEach
+	void setUp() {
+		client = RestClient.builder().baseUrl("http://localhost:" + port + "/api/v1").build();
+	}
+
+	@Test
+	void registerLoginAndReadProfile() {
+		long userId = registerAndLogin("seller");
+
+		JsonNode profile = get("/user/profile/" + userId);
+		assertEquals("Smoke seller", profile.path("data").path("fullName").asString());
+	}
+
+	@Test
+	void listingLifecycleAndChat() throws InterruptedException {
+		long sellerId = registerAndLogin("seller");
+		long buyerId = registerAndLogin("buyer");
+		long categoryId = firstCategoryId();
+
+		post("/product/add", Map.of("sellerId", sellerId, "categoryId", categoryId, "title", "Smoke test lamp",
+				"description", "Desk lamp", "price", 1500, "condition", "USED", "location", "Library",
+				"imageUrls", List.of("http://localhost/uploads/lamp.jpg")));
+
+		JsonNode summaries = get("/product/list/summary").path("data");
+		long productId = -1;
+		for (JsonNode summary : summaries) {
+			if ("Smoke test lamp".equals(summary.path("title").asString())) {
+				productId = summary.path("productId").asLong();
+			}
+		}
+		assertTrue(productId > 0, "New listing missing from summaries");
+
+		// Lazy seller/category associations, image lookup and the ETag projection
+		JsonNode product = get("/product/" + productId).path("data");
+		assertEquals("Smoke seller", product.path("sellerName").asString());
+		assertFalse(product.path("imageUrls").isEmpty());
+		assertEquals("success", get("/product/facets").path("status").asString());
+
+		post("/chat/send", Map.of("senderId", buyerId, "receiverId", sellerId, "productId", productId,
+				"content", "Is this still available?"));
+		JsonNode conversations = get("/chat/conversations/" + sellerId).path("data");
+		assertEquals(1, conversations.size());
+		long conversationId = conversations.get(0).path("conversationId").asLong();
+		JsonNode messages = get("/chat/messages/" + conversationId).path("data");
+		assertEquals("Is this still available?", messages.get(0).path("content").asString());
+	}
+
+	@Test
+	void binaryEncodingIsNegotiated() {
+		byte[] body = client.get().uri("/category/list").accept(MediaType.APPLICATION_CBOR)
+				.retrieve().body(byte[].class);
+		assertTrue(body != null && body.length > 0);
+	}
+
+	@AfterAll
+	static void reportFootprint() {
+		long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+		Runtime runtime = Runtime.getRuntime();
+		long heapUsedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+		System.out.println("Smoke run: uptime " + uptime + " ms, heap used " + heapUsedMb + " MB, RSS " + residentSetSize());
+	}
+
+	private long registerAndLogin(String role) {
+		String email = "smoke-" + role + "-" + System.nanoTime() + "@uni.edu";
+		post("/user/register", Map.of("email", email, "password", "smoke-pass", "role", "STUDENT",
+				"fullName", "Smoke " + role, "phone", "0770000000"));
+		return post("/user/login", Map.of("email", email, "password", "smoke-pass"))
+				.path("data").path("userId").asLong();
+	}
+
+	// Categories are seeded in the background after startup on an empty database
+	private long firstCategoryId() throws InterruptedException {
+		for (int attempt = 0; attempt < 50; attempt++) {
+			JsonNode categories = get("/category/list").path("data");
+			if (!categories.isEmpty()) {
+				return categories.get(0).path("categoryId").asLong();
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("No categories after seeding");
+	}
+
+	private JsonNode get(String path) {
+		return jsonMapper.readTree(client.get().uri(path).retrieve().body(String.class));
+	}
+
+	private JsonNode post(String path, Object body) {
+		return jsonMapper.readTree(client.post().uri(path).contentType(MediaType.APPLICATION_JSON).body(body)
+				.retrieve().body(String.class));
+	}
+
+	// Linux only; ManagementFactory has no RSS and is partly unsupported in native images
+	private static String residentSetSize() {
+		try {
+			return Files.readAllLines(Path.of("/proc/self/status")).stream()
+					.filter(line -> line.startsWith("VmRSS:"))
+					.map(line -> line.substring("VmRSS:".length()).trim())
+					.findFirst().orElse("n/a");
+		} catch (IOException | UnsupportedOperationException ex) {
+			return "n/a";
+		}
+	}
+}
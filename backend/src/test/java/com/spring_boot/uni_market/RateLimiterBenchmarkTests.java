@@ -0,0 +1,92 @@
+package com.spring_boot.uni_market;
+
+import com.spring_boot.uni_market.config.RateLimitProperties;
+import com.spring_boot.uni_market.service.RateLimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cost of the limiter's decision on the request path: route lookup, IP and user bucket CAS, AIMD
+ * acquire/release. Measured without a Spring context or servlet mocks, whose own overhead would swamp it.
+ * A decision is too short to time one at a time, so this times millions together rather than use Latencies.
+ */
+class RateLimiterBenchmarkTests {
+
+	private static final int KEYS = 4096;
+	private static final int WARMUP = 2_000_000;
+	private static final int ITERATIONS = 5_000_000;
+
+	@Benchmark
+	void decisionCostsUnderAMicrosecond() throws Exception {
+		RateLimiter limiter = new RateLimiter(benchProperties());
+		String[] users = new String[KEYS];
+		String[] ips = new String[KEYS];
+		for (int i = 0; i < KEYS; i++) {
+			users[i] = String.valueOf(i);
+			ips[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+		}
+
+		run(limiter, users, ips, WARMUP);
+		long start = System.nanoTime();
+		long allowed = run(limiter, users, ips, ITERATIONS);
+		double singleThreadNs = (double) (System.nanoTime() - start) / ITERATIONS;
+		assertEquals(ITERATIONS, allowed);
+
+		int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Long>> results = new ArrayList<>();
+			start = System.nanoTime();
+			for (int t = 0; t < threads; t++) {
+				results.add(pool.submit(() -> run(limiter, users, ips, ITERATIONS)));
+			}
+			for (Future<Long> result : results) {
+				result.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+		// Wall time per request per thread: what each request thread pays under contention
+		double contendedNs = (double) (System.nanoTime() - start) / ITERATIONS;
+
+		System.out.printf("Rate limiter: %.0f ns/request single-threaded, %.0f ns/request with %d threads%n",
+				singleThreadNs, contendedNs, threads);
+		assertTrue(singleThreadNs < 1_000, "Limiter took " + singleThreadNs + " ns per request");
+		assertTrue(contendedNs < 1_000, "Limiter took " + contendedNs + " ns per request under contention");
+	}
+
+	private long run(RateLimiter limiter, String[] users, String[] ips, int iterations) {
+		long allowed = 0;
+		for (int i = 0; i < iterations; i++) {
+			int key = i & (KEYS - 1);
+			RateLimiter.Permit permit = limiter.tryAcquire("POST", "/api/v1/chat/send", users[key], ips[key]);
+			if (permit.outcome() == RateLimiter.Outcome.ALLOWED) {
+				allowed++;
+			}
+			limiter.release(permit);
+		}
+		return allowed;
+	}
+
+	// Rates high enough that every request is admitted, so the measured path is the full one
+	private RateLimitProperties benchProperties() {
+		RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+		policy.setPaths(List.of("/api/v1/chat/send"));
+		policy.setUserPerMinute(Long.MAX_VALUE);
+		policy.setUserBurst(1_000_000);
+		policy.setIpPerMinute(Long.MAX_VALUE);
+		policy.setIpBurst(1_000_000);
+		policy.setMaxConcurrency(1_000);
+		policy.setInitialConcurrency(1_000);
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getRoutes().put("chat-send", policy);
+		return properties;
+	}
+}
@@ -0,0 +1,117 @@
+package com.spring_boot.uni_market;
+
+import com.spring_boot.uni_market.dto.ProductDTO;
+import com.spring_boot.uni_market.enums.ProductCondition;
+import com.spring_boot.uni_market.utils.SearchPercolator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * One new listing against 100k saved searches: nineteen in twenty have one to three keywords, the rest only a
+ * category and a budget. Words are drawn with a skew towards a common head, like listing text. Checked against
+ * evaluating every query for correctness.
+ */
+class SearchPercolatorBenchmarkTests {
+
+	private static final int QUERIES = 100_000;
+	private static final int LISTINGS = 500;
+	private static final int VOCABULARY = 5_000;
+	private static final int CATEGORIES = 12;
+
+	@Benchmark
+	void matchAtOneHundredThousandQueries() {
+		SplittableRandom random = new SplittableRandom(42);
+		SearchPercolator percolator = new SearchPercolator();
+		List<SearchPercolator.Query> queries = new ArrayList<>(QUERIES);
+		for (int i = 0; i < QUERIES; i++) {
+			SearchPercolator.Query query = query(i, random);
+			queries.add(query);
+			percolator.add(query);
+		}
+
+		List<ProductDTO> listings = new ArrayList<>(LISTINGS);
+		for (int i = 0; i < LISTINGS; i++) {
+			listings.add(listing(i, random));
+		}
+
+		int[] matched = new int[LISTINGS];
+		Latencies latencies = Latencies.measure(LISTINGS,
+				i -> matched[i] = percolator.match(listings.get(i)).size());
+		double p50Ms = latencies.p50Ms();
+
+		// Every query against the first listings must give the same matches, and is the baseline for the timing
+		long start = System.nanoTime();
+		for (int i = 0; i < 20; i++) {
+			ProductDTO listing = listings.get(i);
+			Set<String> words = SearchPercolator.tokenize(listing.getTitle() + " " + listing.getDescription());
+			Set<Long> expected = new HashSet<>();
+			for (SearchPercolator.Query query : queries) {
+				if (query.matches(listing, words)) {
+					expected.add(query.id());
+				}
+			}
+			Set<Long> actual = new HashSet<>();
+			percolator.match(listing).forEach(query -> actual.add(query.id()));
+			assertEquals(expected, actual);
+		}
+		double scanMs = (System.nanoTime() - start) / 1e6 / 20;
+
+		System.out.printf("Saved search percolation, %d queries: match p50 %.3f ms, p99 %.3f ms, "
+				+ "%.1f alerts per listing (evaluating every query %.2f ms)%n",
+				QUERIES, p50Ms, latencies.p99Ms(), (double) IntStream.of(matched).sum() / LISTINGS, scanMs);
+		assertTrue(p50Ms < 5, "Matching took " + p50Ms + " ms at p50");
+	}
+
+	private static SearchPercolator.Query query(long id, SplittableRandom random) {
+		Long categoryId = random.nextInt(3) == 0 ? null : (long) random.nextInt(1, CATEGORIES + 1);
+		BigDecimal maxPrice = random.nextBoolean() ? null : BigDecimal.valueOf(random.nextInt(500, 100_000));
+		ProductCondition condition = random.nextInt(4) == 0 ? ProductCondition.USED : null;
+		if (random.nextInt(20) == 0) {
+			return SearchPercolator.Query.of(id, (long) random.nextInt(20_000), null,
+					(long) random.nextInt(1, CATEGORIES + 1), null, BigDecimal.valueOf(random.nextInt(500, 100_000)),
+					condition, null);
+		}
+		StringBuilder keywords = new StringBuilder();
+		for (int i = random.nextInt(1, 4); i > 0; i--) {
+			keywords.append(word(random)).append(' ');
+		}
+		return SearchPercolator.Query.of(id, (long) random.nextInt(20_000), keywords.toString(), categoryId, null,
+				maxPrice, condition, null);
+	}
+
+	private static ProductDTO listing(long id, SplittableRandom random) {
+		ProductDTO listing = new ProductDTO();
+		listing.setProductId(id);
+		listing.setSellerId((long) random.nextInt(20_000));
+		listing.setCategoryId((long) random.nextInt(1, CATEGORIES + 1));
+		listing.setTitle(words(random, 5));
+		listing.setDescription(words(random, 30));
+		listing.setPrice(BigDecimal.valueOf(random.nextInt(100, 200_000)));
+		listing.setCondition(random.nextBoolean() ? ProductCondition.NEW : ProductCondition.USED);
+		listing.setLocation("Main Library");
+		return listing;
+	}
+
+	private static String words(SplittableRandom random, int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			text.append(word(random)).append(' ');
+		}
+		return text.toString();
+	}
+
+	// Squaring a uniform draw skews towards low ranks: the first 50 words get about a tenth of all draws
+	private static String word(SplittableRandom random) {
+		double u = random.nextDouble();
+		return "w" + (int) (u * u * VOCABULARY);
+	}
+}
@@ -0,0 +1,123 @@
+package com.spring_boot.uni_market;
+
+import com.spring_boot.uni_market.dto.ProductDTO;
+import com.spring_boot.uni_market.dto.ProductSummaryDTO;
+import com.spring_boot.uni_market.enums.ProductCondition;
+import com.spring_boot.uni_market.enums.ProductStatus;
+import com.spring_boot.uni_market.utils.StandardResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes on the wire and serialization time for a 10k-listing catalog: /list (full ProductDTO) against
+ * /list/summary, raw and gzipped as server.compression sends them.
+ */
+class SummaryPayloadBenchmarkTests {
+
+	private static final int LISTINGS = 10_000;
+	private static final int RUNS = 15;
+	private static final String[] WORDS = {"used", "calculator", "textbook", "desk", "lamp", "bicycle", "chair",
+			"laptop", "charger", "notes", "engineering", "maths", "good", "condition", "barely", "kettle", "fan",
+			"hostel", "pickup", "negotiable", "semester", "lab", "coat", "headphones", "cable", "mattress"};
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	@Benchmark
+	void summaryPayloadAtTenThousandListings() throws IOException {
+		SplittableRandom random = new SplittableRandom(42);
+		List<ProductDTO> products = new ArrayList<>(LISTINGS);
+		List<ProductSummaryDTO> summaries = new ArrayList<>(LISTINGS);
+		for (int i = 0; i < LISTINGS; i++) {
+			ProductDTO product = product(i, random);
+			products.add(product);
+			summaries.add(summary(product));
+		}
+		StandardResponse full = new StandardResponse("success", "Products retrieved", products, 200);
+		StandardResponse summary = new StandardResponse("success", "Product summaries retrieved", summaries, 200);
+
+		byte[] fullJson = jsonMapper.writeValueAsBytes(full);
+		byte[] summaryJson = jsonMapper.writeValueAsBytes(summary);
+		int fullGzip = gzip(fullJson).length;
+		int summaryGzip = gzip(summaryJson).length;
+		double fullMs = medianWriteMs(full);
+		double summaryMs = medianWriteMs(summary);
+
+		System.out.printf("Catalog of %d listings: /list %d KB (%d KB gzip, %.1f ms), "
+						+ "/list/summary %d KB (%d KB gzip, %.1f ms)%n",
+				LISTINGS, fullJson.length / 1024, fullGzip / 1024, fullMs,
+				summaryJson.length / 1024, summaryGzip / 1024, summaryMs);
+		assertTrue(summaryJson.length * 2 < fullJson.length,
+				"Summary is " + summaryJson.length + " bytes against " + fullJson.length);
+		assertTrue(summaryGzip * 4 < fullJson.length,
+				"Gzipped summary is " + summaryGzip + " bytes against " + fullJson.length + " raw");
+		assertTrue(summaryMs < fullMs, "Summary took " + summaryMs + " ms against " + fullMs);
+	}
+
+	private double medianWriteMs(StandardResponse response) {
+		return Latencies.measure(RUNS, i -> jsonMapper.writeValueAsBytes(response)).p50Ms();
+	}
+
+	private static byte[] gzip(byte[] bytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(bytes);
+		}
+		return out.toByteArray();
+	}
+
+	private static ProductDTO product(int id, SplittableRandom random) {
+		ProductDTO product = new ProductDTO();
+		product.setProductId((long) id + 1);
+		product.setSellerId((long) random.nextInt(1, 2000));
+		product.setCategoryId((long) random.nextInt(1, 12));
+		product.setTitle(words(random, 4));
+		product.setDescription(words(random, 40));
+		product.setPrice(BigDecimal.valueOf(random.nextInt(100, 500_000), 2));
+		product.setCondition(random.nextBoolean() ? ProductCondition.NEW : ProductCondition.USED);
+		product.setStatus(ProductStatus.AVAILABLE);
+		product.setLocation("Hostel " + random.nextInt(1, 9));
+		product.setContactPhone("07" + random.nextInt(10_000_000, 99_999_999));
+		product.setSellerName("Student " + product.getSellerId());
+		product.setCategoryName("Category " + product.getCategoryId());
+		List<String> imageUrls = new ArrayList<>();
+		for (int i = random.nextInt(1, 5); i > 0; i--) {
+			imageUrls.add("/uploads/" + Long.toHexString(random.nextLong()) + ".jpg");
+		}
+		product.setImageUrls(imageUrls);
+		product.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(random.nextInt(500_000)));
+		return product;
+	}
+
+	private static ProductSummaryDTO summary(ProductDTO product) {
+		ProductSummaryDTO summary = new ProductSummaryDTO();
+		summary.setProductId(product.getProductId());
+		summary.setTitle(product.getTitle());
+		summary.setPrice(product.getPrice());
+		summary.setCondition(product.getCondition());
+		summary.setPrimaryImageUrl(product.getImageUrls().get(0));
+		summary.setCategoryId(product.getCategoryId());
+		summary.setCategoryName(product.getCategoryName());
+		return summary;
+	}
+
+	private static String words(SplittableRandom random, int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				text.append(' ');
+			}
+			text.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return text.toString();
+	}
+}
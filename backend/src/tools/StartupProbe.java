@@ -0,0 +1,63 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Used by the fast-startup Maven profile's verify phase (run as a single-file program, so it is not part of the
+ * application). Starts the server with the given JVM arguments, sends one real request as soon as it listens, and
+ * prints the time from launch to the response. The server is stopped afterwards either way.
+ *
+ * Usage: java StartupProbe.java <working dir> <url> <timeout seconds> <java arguments...>
+ */
+public class StartupProbe {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            throw new IllegalArgumentException("Usage: StartupProbe <working dir> <url> <timeout seconds> <java arguments...>");
+        }
+        Path workingDir = Path.of(args[0]);
+        URI url = URI.create(args[1]);
+        long deadline = System.nanoTime() + Duration.ofSeconds(Long.parseLong(args[2])).toNanos();
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(List.of(args).subList(3, args.length));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET().build();
+
+        long start = System.nanoTime();
+        Process server = new ProcessBuilder(command).directory(workingDir.toFile()).inheritIO().start();
+        try {
+            while (true) {
+                if (!server.isAlive()) {
+                    throw new IllegalStateException("Server exited with code " + server.exitValue() + " before answering");
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("No answer from " + url + " within " + args[2] + " s");
+                }
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("GET " + url + " answered " + response.statusCode());
+                    }
+                    System.out.println("✅ GET " + url + " answered 200 " + elapsedMs + " ms after launch");
+                    return;
+                } catch (IOException ex) {
+                    // Not listening yet, or the connector is still starting up
+                    Thread.sleep(20);
+                }
+            }
+        } finally {
+            server.destroy();
+            server.waitFor();
+        }
+    }
+}
@@ -7,4 +7,14 @@ const api = axios.create({
     },
 });
 
+// Write endpoints are rate limited per user as well as per IP; the backend keys the user bucket on the
+// session key it returned at login
+api.interceptors.request.use((config) => {
+    const sessionKey = localStorage.getItem('sessionKey');
+    if (sessionKey) {
+        config.headers['X-Session-Key'] = sessionKey;
+    }
+    return config;
+});
+
 export default api;
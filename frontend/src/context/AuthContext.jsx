@@ -14,13 +14,17 @@ export const AuthProvider = ({ children }) => {
         setLoading(false);
     }, []);
 
-    const login = (userData) => {
+    const login = (userData, sessionKey) => {
         localStorage.setItem('user', JSON.stringify(userData));
+        if (sessionKey) {
+            localStorage.setItem('sessionKey', sessionKey);
+        }
         setUser(userData);
     };
 
     const logout = () => {
         localStorage.removeItem('user');
+        localStorage.removeItem('sessionKey');
         setUser(null);
         window.location.href = '/';
     };
@@ -90,16 +90,21 @@ const HomePage = () => {
     const [selectedProduct, setSelectedProduct] = useState(null);
     const [searchQuery, setSearchQuery] = useState('');
     const [selectedCategory, setSelectedCategory] = useState('All');
+    const [places, setPlaces] = useState([]);
+    const [selectedPlace, setSelectedPlace] = useState('');
+    const [nearbyProducts, setNearbyProducts] = useState([]);
 
     useEffect(() => {
         const fetchData = async () => {
             try {
-                const [prodRes, catRes] = await Promise.all([
+                const [prodRes, catRes, placeRes] = await Promise.all([
                     api.get('/product/list'),
-                    api.get('/category/list')
+                    api.get('/category/list'),
+                    api.get('/place/list')
                 ]);
                 setProducts(prodRes.data.data || []);
                 setCategories(catRes.data.data || []);
+                setPlaces(placeRes.data.data || []);
             } catch (err) {
                 console.error("Failed to fetch data", err);
             } finally {
@@ -109,7 +114,19 @@ const HomePage = () => {
         fetchData();
     }, []);
 
-    const filteredProducts = products.filter(product => {
+    // Listings within a kilometre of the chosen campus place, nearest first
+    useEffect(() => {
+        const place = places.find(p => p.name === selectedPlace);
+        if (!place) {
+            setNearbyProducts([]);
+            return;
+        }
+        api.get('/product/nearby', { params: { lat: place.latitude, lng: place.longitude, radius: 1000, limit: 50 } })
+            .then(res => setNearbyProducts((res.data.data || []).map(hit => hit.product)))
+            .catch(err => console.error("Failed to fetch nearby products", err));
+    }, [selectedPlace, places]);
+
+    const filteredProducts = (selectedPlace ? nearbyProducts : products).filter(product => {
         const matchesSearch = product.title.toLowerCase().includes(searchQuery.toLowerCase()) ||
             product.description.toLowerCase().includes(searchQuery.toLowerCase());
         const matchesCategory = selectedCategory === 'All' || product.category === selectedCategory || product.category?.name === selectedCategory || product.categoryId === selectedCategory; // checking multiple possibilities as DTO structure might vary
@@ -213,6 +230,25 @@ const HomePage = () => {
                             placeholder="Search for backpacks, electronics..."
                         />
                     </motion.div>
+                    <motion.div
+                        initial={{ opacity: 0, y: 10 }}
+                        animate={{ opacity: 1, y: 0 }}
+                        className="relative ml-4"
+                    >
+                        <div className="absolute inset-y-0 left-0 pl-4 flex items-center pointer-events-none">
+                            <MapPin className="text-gray-400" size={20} />
+                        </div>
+                        <select
+                            value={selectedPlace}
+                            onChange={(e) => setSelectedPlace(e.target.value)}
+                            className="block h-full pl-12 pr-4 py-4 rounded-2xl shadow-xl dark:shadow-none border border-gray-100 dark:border-slate-800 bg-white dark:bg-slate-900 focus:ring-2 focus:ring-primary focus:border-transparent text-gray-900 dark:text-white transition-all outline-none"
+                        >
+                            <option value="" className="dark:bg-slate-900">Anywhere on campus</option>
+                            {places.map((place) => (
+                                <option key={place.placeId} value={place.name} className="dark:bg-slate-900">Near {place.name}</option>
+                            ))}
+                        </select>
+                    </motion.div>
                 </div>
             </div>
 
@@ -221,6 +257,7 @@ const HomePage = () => {
                 <h2 className="text-2xl font-bold text-gray-800 dark:text-white mb-6 flex items-center gap-2 transition-colors duration-300">
                     {selectedCategory === 'All' ? 'Fresh Recommendations' : `${selectedCategory} Results`}
                     {searchQuery && <span className="text-sm font-normal text-gray-500 dark:text-gray-400">- searching "{searchQuery}"</span>}
+                    {selectedPlace && <span className="text-sm font-normal text-gray-500 dark:text-gray-400">- near {selectedPlace}</span>}
                 </h2>
 
                 {loading ? (
@@ -230,7 +267,7 @@ const HomePage = () => {
                         {filteredProducts.length === 0 ? (
                             <div className="col-span-full text-center py-20 bg-gray-50 dark:bg-slate-900/50 rounded-2xl border border-gray-100 dark:border-slate-800 transition-colors duration-300">
                                 <p className="text-gray-500 dark:text-gray-400">No products found for your search.</p>
-                                <button onClick={() => { setSearchQuery(''); setSelectedCategory('All'); }} className="mt-4 text-primary font-bold hover:underline">Clear Search</button>
+                                <button onClick={() => { setSearchQuery(''); setSelectedCategory('All'); setSelectedPlace(''); }} className="mt-4 text-primary font-bold hover:underline">Clear Search</button>
                             </div>
                         ) : filteredProducts.map((product) => (
                             <ProductCard
@@ -18,7 +18,7 @@ const LoginPage = () => {
         e.preventDefault();
         try {
             const res = await api.post('/user/login', formData);
-            login(res.data.data);
+            login(res.data.data, res.headers['x-session-key']);
             showToast('Login Successful!', 'success');
             navigate('/');
         } catch (err) {
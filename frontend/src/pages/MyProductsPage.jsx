@@ -85,7 +85,10 @@ const MyProductsPage = () => {
 
     const fetchMyProducts = async () => {
         try {
-            const res = await api.get('/product/list');
+            // Only what the dashboard renders; leaving out contactPhone and the names skips the profile and category lookups
+            const res = await api.get('/product/list', {
+                params: { fields: 'productId,sellerId,title,price,imageUrls,createdAt' }
+            });
             const myUser = JSON.parse(localStorage.getItem('user'));
             const myProds = res.data.data.filter(p => p.sellerId === myUser.userId);
             setProducts(myProds);
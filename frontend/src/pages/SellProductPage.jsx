@@ -19,6 +19,7 @@ const SellProductPage = () => {
     });
 
     const [categories, setCategories] = useState([]);
+    const [places, setPlaces] = useState([]);
 
     useEffect(() => {
         const fetchCategories = async () => {
@@ -36,6 +37,10 @@ const SellProductPage = () => {
             } catch (e) { console.error("Could not fetch categories"); }
         };
         fetchCategories();
+        // Campus places for the location suggestions; picking one puts the listing on the nearby map
+        api.get('/place/list')
+            .then(res => setPlaces(res.data.data || []))
+            .catch(() => console.error("Could not fetch campus places"));
     }, []);
 
     const handleChange = (e) => setFormData({ ...formData, [e.target.name]: e.target.value });
@@ -275,11 +280,15 @@ const SellProductPage = () => {
                                             <MapPin className="absolute left-4 top-4 text-gray-400 dark:text-gray-500" size={20} />
                                             <input
                                                 name="location"
+                                                list="campus-places"
                                                 value={formData.location}
                                                 onChange={handleChange}
                                                 className="w-full pl-12 p-4 bg-gray-50 dark:bg-slate-800 rounded-2xl border-2 border-transparent dark:border-slate-700 focus:border-primary dark:focus:border-primary focus:bg-white dark:focus:bg-slate-900 text-gray-900 dark:text-white outline-none transition-colors"
-                                                placeholder="e.g. Library"
+                                                placeholder="e.g. Main Library"
                                             />
+                                            <datalist id="campus-places">
+                                                {places.map((place) => <option key={place.placeId} value={place.name} />)}
+                                            </datalist>
                                         </div>
                                     </div>
                                     <div>